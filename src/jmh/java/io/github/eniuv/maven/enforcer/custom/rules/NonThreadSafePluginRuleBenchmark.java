@@ -0,0 +1,83 @@
+package io.github.eniuv.maven.enforcer.custom.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.eniuv.maven.enforcer.custom.rules.stub.StubBuildPluginManager;
+import io.github.eniuv.maven.enforcer.custom.rules.stub.StubEnforcerRuleHelper;
+import io.github.eniuv.maven.enforcer.custom.rules.stub.SyntheticProjects;
+
+/**
+ * Executes the rule once for every module of a synthetic reactor where all the modules share the same plugins.
+ * Every operation is a new build with a new session, so it measures the whole reactor and not a single module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NonThreadSafePluginRuleBenchmark {
+
+    @Param({"50"})
+    int modules;
+
+    @Param({"12"})
+    int plugins;
+
+    @Param({"0", "200"})
+    long latencyMicros;
+
+    @Param({"1", "4"})
+    int parallelism;
+
+    private StubBuildPluginManager pluginManager;
+    private List<MavenProject> projects;
+
+    @Setup
+    public void setup() {
+        pluginManager = new StubBuildPluginManager(4, latencyMicros);
+
+        final List<Plugin> pluginList = SyntheticProjects.createPlugins(plugins, 4);
+        projects = new ArrayList<>(modules);
+        for (int i = 0; i < modules; i++) {
+            projects.add(SyntheticProjects.createProject("module-" + i, pluginList));
+        }
+    }
+
+    @Benchmark
+    public int executeReactor() throws Exception {
+        final DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+        final MavenSession session = new MavenSession(null, repositorySession, new DefaultMavenExecutionRequest(), new DefaultMavenExecutionResult());
+
+        int executions = 0;
+        for (MavenProject project : projects) {
+            final NonThreadSafePluginRule rule = new NonThreadSafePluginRule();
+            rule.fail = false;
+            rule.parallelism = parallelism;
+            rule.execute(new StubEnforcerRuleHelper(project, session, pluginManager));
+            executions++;
+        }
+
+        return executions;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+import io.github.eniuv.maven.enforcer.custom.rules.stub.SyntheticProjects;
+
+/**
+ * Matches 16 plugins, half of them excluded, against exclude lists of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PluginMatcherBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int excludeSize;
+
+    private List<Plugin> exclude;
+    private PluginExclusions exclusions;
+    private Plugin[] plugins;
+
+    @Setup
+    public void setup() throws Exception {
+        exclude = SyntheticProjects.createExclude(excludeSize);
+        exclusions = PluginExclusions.compile(exclude);
+
+        plugins = new Plugin[16];
+        for (int i = 0; i < plugins.length; i += 2) {
+            plugins[i] = PluginCreator.create("com.example.group." + i, "example-artifact-" + i, "1.0.0");
+        }
+        plugins[1] = PluginCreator.create("org.example.excluded.0", "excluded-artifact-0", "1.0.0");
+        plugins[3] = PluginCreator.create("org.example.excluded." + (excludeSize - 1), "excluded-artifact-" + (excludeSize - 1), "1.0.0");
+        plugins[5] = PluginCreator.create("org.codehaus.mojo", "build-helper-maven-plugin", "3.0.0");
+        plugins[7] = PluginCreator.create("com.acme.build", "proto-gen-plugin", "1.0.0");
+        for (int i = 9; i < plugins.length; i += 2) {
+            plugins[i] = PluginCreator.create("org.example.excluded." + (i * excludeSize / plugins.length), "excluded-artifact-" + (i * excludeSize / plugins.length), "1.0.0");
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        for (Plugin plugin : plugins) {
+            blackhole.consume(PluginMatcher.doesPluginMatchInList(plugin, exclude));
+        }
+    }
+
+    @Benchmark
+    public void compiledIndex(Blackhole blackhole) {
+        for (Plugin plugin : plugins) {
+            blackhole.consume(exclusions.matches(plugin));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.model.Plugin;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.github.eniuv.maven.enforcer.custom.rules.stub.StubBuildPluginManager;
+import io.github.eniuv.maven.enforcer.custom.rules.stub.SyntheticProjects;
+
+/**
+ * Finds the non thread safe goals of 10 plugins with 4 goals each, with a new cache for every operation (cold)
+ * and with a cache shared by the session (warm). The latency is the time the stub needs to load one plugin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PluginServiceBenchmark {
+
+    @Param({"0", "100"})
+    long latencyMicros;
+
+    private StubBuildPluginManager pluginManager;
+    private List<Plugin> plugins;
+    private DefaultRepositorySystemSession warmSession;
+
+    @Setup
+    public void setup() {
+        pluginManager = new StubBuildPluginManager(4, latencyMicros);
+        plugins = SyntheticProjects.createPlugins(10, 4);
+        warmSession = new DefaultRepositorySystemSession();
+    }
+
+    @Benchmark
+    public void coldCache(Blackhole blackhole) throws Exception {
+        final PluginService pluginService = new PluginService(pluginManager, Collections.emptyList(), null);
+        for (Plugin plugin : plugins) {
+            blackhole.consume(pluginService.getNonThreadSafeGoals(plugin));
+        }
+    }
+
+    @Benchmark
+    public void warmCache(Blackhole blackhole) throws Exception {
+        final PluginService pluginService = new PluginService(pluginManager, Collections.emptyList(), warmSession);
+        for (Plugin plugin : plugins) {
+            blackhole.consume(pluginService.getNonThreadSafeGoals(plugin));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.eniuv.maven.enforcer.custom.rules.stub;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoNotFoundException;
+import org.apache.maven.plugin.descriptor.DuplicateMojoDescriptorException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * A plugin manager that answers every plugin with the goals "goal-0" to "goal-{n-1}" after a configurable latency.
+ * Every goal with an odd index is not thread safe.
+ */
+public class StubBuildPluginManager implements BuildPluginManager {
+    private final int goals;
+    private final long latencyNanos;
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    public StubBuildPluginManager(int goals, long latencyMicros) {
+        this.goals = goals;
+        this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+    }
+
+    public int getLookups() {
+        return lookups.get();
+    }
+
+    public PluginDescriptor loadPlugin(Plugin plugin, List<RemoteRepository> repositories, RepositorySystemSession session) {
+        lookups.incrementAndGet();
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+
+        final PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId(plugin.getGroupId());
+        pluginDescriptor.setArtifactId(plugin.getArtifactId());
+        pluginDescriptor.setVersion(plugin.getVersion());
+        for (int i = 0; i < goals; i++) {
+            final MojoDescriptor mojoDescriptor = new MojoDescriptor();
+            mojoDescriptor.setGoal("goal-" + i);
+            mojoDescriptor.setThreadSafe(i % 2 == 0);
+            try {
+                pluginDescriptor.addMojo(mojoDescriptor);
+            } catch (DuplicateMojoDescriptorException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        return pluginDescriptor;
+    }
+
+    public MojoDescriptor getMojoDescriptor(Plugin plugin, String goal, List<RemoteRepository> repositories, RepositorySystemSession session) throws MojoNotFoundException {
+        final PluginDescriptor pluginDescriptor = loadPlugin(plugin, repositories, session);
+        final MojoDescriptor mojoDescriptor = pluginDescriptor.getMojo(goal);
+        if (mojoDescriptor == null) {
+            throw new MojoNotFoundException(goal, pluginDescriptor);
+        }
+
+        return mojoDescriptor;
+    }
+
+    public ClassRealm getPluginRealm(MavenSession session, PluginDescriptor pluginDescriptor) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void executeMojo(MavenSession session, MojoExecution execution) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.eniuv.maven.enforcer.custom.rules.stub;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.PlexusContainer;
+
+/**
+ * A rule helper that knows only the project, the session and the plugin manager.
+ */
+public class StubEnforcerRuleHelper implements EnforcerRuleHelper {
+    private final Log log = new SilentLog();
+    private final MavenProject project;
+    private final MavenSession session;
+    private final BuildPluginManager pluginManager;
+
+    public StubEnforcerRuleHelper(MavenProject project, MavenSession session, BuildPluginManager pluginManager) {
+        this.project = project;
+        this.session = session;
+        this.pluginManager = pluginManager;
+    }
+
+    public Log getLog() {
+        return log;
+    }
+
+    public Object getComponent(Class clazz) {
+        if (clazz == BuildPluginManager.class) {
+            return pluginManager;
+        }
+        throw new UnsupportedOperationException(clazz.getName());
+    }
+
+    public Object getComponent(String componentKey) {
+        throw new UnsupportedOperationException(componentKey);
+    }
+
+    public Object getComponent(String role, String roleHint) {
+        throw new UnsupportedOperationException(role);
+    }
+
+    public Map getComponentMap(String role) {
+        throw new UnsupportedOperationException(role);
+    }
+
+    public List getComponentList(String role) {
+        throw new UnsupportedOperationException(role);
+    }
+
+    public PlexusContainer getContainer() {
+        throw new UnsupportedOperationException();
+    }
+
+    public Object evaluate(String expression) {
+        if ("${project}".equals(expression)) {
+            return project;
+        }
+        if ("${session}".equals(expression)) {
+            return session;
+        }
+        throw new UnsupportedOperationException(expression);
+    }
+
+    public File alignToBaseDirectory(File file) {
+        return file;
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.eniuv.maven.enforcer.custom.rules.stub;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+
+public class SyntheticProjects {
+
+    /**
+     * Creates plugins "com.example.group.{i}:example-artifact-{i}:1.0.{i}" where every goal is bound by two executions.
+     * The goals match the goals of {@link StubBuildPluginManager}.
+     */
+    public static List<Plugin> createPlugins(int plugins, int goals) {
+        final List<Plugin> pluginList = new ArrayList<>(plugins);
+        for (int i = 0; i < plugins; i++) {
+            final List<String> pluginGoals = new ArrayList<>(goals * 2);
+            for (int goal = 0; goal < goals; goal++) {
+                pluginGoals.add("goal-" + goal);
+            }
+            // the same goals bound by a second execution, like surefire or build helper
+            pluginGoals.addAll(new ArrayList<>(pluginGoals));
+
+            pluginList.add(PluginCreator.create("com.example.group." + i, "example-artifact-" + i, "1.0." + i, pluginGoals));
+        }
+
+        return pluginList;
+    }
+
+    public static MavenProject createProject(String artifactId, List<Plugin> plugins) {
+        final Model model = new Model();
+        model.setGroupId("com.example.project");
+        model.setArtifactId(artifactId);
+        model.setVersion("1.0.0");
+        model.setBuild(new Build());
+        model.getBuild().setPlugins(new ArrayList<>(plugins));
+
+        return new MavenProject(model);
+    }
+
+    public static List<Plugin> createExclude(int size) {
+        final List<Plugin> exclude = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            exclude.add(PluginCreator.create("org.example.excluded." + i, "excluded-artifact-" + i, null));
+        }
+        exclude.addAll(Arrays.asList(
+                PluginCreator.create("org.codehaus.*", null, null),
+                PluginCreator.create("com.acme.*", "*-gen-plugin", null)
+        ));
+
+        return exclude;
+    }
+}
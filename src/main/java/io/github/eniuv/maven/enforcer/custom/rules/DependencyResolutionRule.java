@@ -0,0 +1,100 @@
+package io.github.eniuv.maven.enforcer.custom.rules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.enforcer.rule.api.EnforcerRule;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.InvalidPluginDescriptorException;
+import org.apache.maven.plugin.MojoNotFoundException;
+import org.apache.maven.plugin.PluginDescriptorParsingException;
+import org.apache.maven.plugin.PluginNotFoundException;
+import org.apache.maven.plugin.PluginResolutionException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import io.github.eniuv.maven.enforcer.custom.rules.log.LogUtil;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginAnalysis;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginExclusions;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginService;
+
+/**
+ * Reports the goals bound in a module that make maven resolve the runtime or test dependencies, or that require online mode.
+ */
+public class DependencyResolutionRule implements EnforcerRule {
+    // all variables are accessed from enforcer plugin via reflection
+    // there is no point in making them private
+    List<Plugin> allow = new ArrayList<>(0);
+    List<String> scopes = new ArrayList<>(Arrays.asList("runtime", "compile+runtime", "runtime+system", "test"));
+    int maxGoals = -1;
+
+    public void execute(EnforcerRuleHelper helper) throws EnforcerRuleException {
+        try {
+            final Log log = helper.getLog();
+            final MavenProject project = (MavenProject) helper.evaluate("${project}");
+            final MavenSession session = (MavenSession) helper.evaluate("${session}");
+            final BuildPluginManager pluginManager = (BuildPluginManager) helper.getComponent(BuildPluginManager.class);
+            final RepositorySystemSession repositorySession = session.getRepositorySession();
+
+            final PluginService pluginService = getPluginService(pluginManager, project.getRemotePluginRepositories(), repositorySession);
+            final PluginExclusions allowed = PluginAnalysis.forSession(repositorySession).getExclusions(allow);
+
+            int expensiveGoals = 0;
+            for (Plugin plugin : project.getBuild().getPlugins()) {
+                if (allowed.matches(plugin)) {
+                    continue;
+                }
+
+                for (MojoDescriptor mojoDescriptor : pluginService.getBoundMojoDescriptors(plugin)) {
+                    final String scope = mojoDescriptor.getDependencyResolutionRequired();
+                    final boolean expensiveScope = scope != null && scopes.contains(scope);
+                    if (expensiveScope || mojoDescriptor.isOnlineRequired()) {
+                        LogUtil.logWarnGoalRequiresDependencyResolution(log, plugin, mojoDescriptor.getGoal(), expensiveScope ? scope : null, mojoDescriptor.isOnlineRequired());
+                        expensiveGoals++;
+                    }
+                }
+            }
+
+            if (maxGoals >= 0 && expensiveGoals > maxGoals) {
+                throw new EnforcerRuleException(expensiveGoals + " goals require an expensive dependency resolution, at most " + maxGoals + " are allowed.");
+            }
+
+        } catch (ExpressionEvaluationException
+                | ComponentLookupException
+                | PluginNotFoundException
+                | InvalidPluginDescriptorException
+                | PluginDescriptorParsingException
+                | PluginResolutionException
+                | MojoNotFoundException
+                | InvalidVersionSpecificationException e) {
+            throw new EnforcerRuleException(e.getMessage(), e);
+        }
+    }
+
+    PluginService getPluginService(BuildPluginManager pluginManager, List<RemoteRepository> repositories, RepositorySystemSession repositorySession) {
+        return PluginAnalysis.forSession(repositorySession).createPluginService(pluginManager, repositories);
+    }
+
+    public boolean isCacheable() {
+        return false;
+    }
+
+    public boolean isResultValid(EnforcerRule cachedRule) {
+        return false;
+    }
+
+    public String getCacheId() {
+        return null;
+    }
+}
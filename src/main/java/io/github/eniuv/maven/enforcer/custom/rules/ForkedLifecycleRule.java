@@ -0,0 +1,97 @@
+package io.github.eniuv.maven.enforcer.custom.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.enforcer.rule.api.EnforcerRule;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.InvalidPluginDescriptorException;
+import org.apache.maven.plugin.MojoNotFoundException;
+import org.apache.maven.plugin.PluginDescriptorParsingException;
+import org.apache.maven.plugin.PluginNotFoundException;
+import org.apache.maven.plugin.PluginResolutionException;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import io.github.eniuv.maven.enforcer.custom.rules.log.LogUtil;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginAnalysis;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginExclusions;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginService;
+
+/**
+ * Reports the goals bound in a module that fork the lifecycle and run the earlier phases or another goal a second time.
+ */
+public class ForkedLifecycleRule implements EnforcerRule {
+    // all variables are accessed from enforcer plugin via reflection
+    // there is no point in making them private
+    boolean fail = false;
+    List<Plugin> exclude = new ArrayList<>(0);
+
+    public void execute(EnforcerRuleHelper helper) throws EnforcerRuleException {
+        try {
+            final Log log = helper.getLog();
+            final MavenProject project = (MavenProject) helper.evaluate("${project}");
+            final MavenSession session = (MavenSession) helper.evaluate("${session}");
+            final BuildPluginManager pluginManager = (BuildPluginManager) helper.getComponent(BuildPluginManager.class);
+            final RepositorySystemSession repositorySession = session.getRepositorySession();
+
+            final PluginService pluginService = getPluginService(pluginManager, project.getRemotePluginRepositories(), repositorySession);
+            final PluginExclusions exclusions = PluginAnalysis.forSession(repositorySession).getExclusions(exclude);
+
+            int forkingGoals = 0;
+            for (Plugin plugin : project.getBuild().getPlugins()) {
+                if (exclusions.matches(plugin)) {
+                    continue;
+                }
+
+                for (MojoDescriptor mojoDescriptor : pluginService.getBoundMojoDescriptors(plugin)) {
+                    if (mojoDescriptor.getExecutePhase() != null || mojoDescriptor.getExecuteGoal() != null) {
+                        LogUtil.logWarnGoalForksLifecycle(log, plugin, mojoDescriptor.getGoal(),
+                                mojoDescriptor.getExecutePhase(), mojoDescriptor.getExecuteGoal(), mojoDescriptor.getExecuteLifecycle());
+                        forkingGoals++;
+                    }
+                }
+            }
+
+            if (fail && forkingGoals > 0) {
+                throw new EnforcerRuleException("Use of goals that fork the lifecycle is not allowed.");
+            }
+
+        } catch (ExpressionEvaluationException
+                | ComponentLookupException
+                | PluginNotFoundException
+                | InvalidPluginDescriptorException
+                | PluginDescriptorParsingException
+                | PluginResolutionException
+                | MojoNotFoundException
+                | InvalidVersionSpecificationException e) {
+            throw new EnforcerRuleException(e.getMessage(), e);
+        }
+    }
+
+    PluginService getPluginService(BuildPluginManager pluginManager, List<RemoteRepository> repositories, RepositorySystemSession repositorySession) {
+        return PluginAnalysis.forSession(repositorySession).createPluginService(pluginManager, repositories);
+    }
+
+    public boolean isCacheable() {
+        return false;
+    }
+
+    public boolean isResultValid(EnforcerRule cachedRule) {
+        return false;
+    }
+
+    public String getCacheId() {
+        return null;
+    }
+}
@@ -1,13 +1,42 @@
 package io.github.eniuv.maven.enforcer.custom.rules;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.enforcer.rule.api.EnforcerRule;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.LifeCyclePluginAnalyzer;
 import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
 import org.apache.maven.plugin.BuildPluginManager;
 import org.apache.maven.plugin.InvalidPluginDescriptorException;
 import org.apache.maven.plugin.MojoNotFoundException;
@@ -23,8 +52,18 @@ import org.eclipse.aether.repository.RemoteRepository;
 
 import io.github.eniuv.maven.enforcer.custom.rules.constants.ThreadSafePlugins;
 import io.github.eniuv.maven.enforcer.custom.rules.log.LogUtil;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginExceptions;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginAnalysis;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginCache;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginExclusions;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginGoals;
 import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginMatcher;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginMetrics;
 import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginService;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.VerdictStore;
+import io.github.eniuv.maven.enforcer.custom.rules.report.ReportFormat;
+import io.github.eniuv.maven.enforcer.custom.rules.report.ViolationReport;
+import io.github.eniuv.maven.enforcer.custom.rules.session.SessionStore;
 
 public class NonThreadSafePluginRule implements EnforcerRule {
     // all variables are accessed from enforcer plugin via reflection
@@ -32,30 +71,148 @@ public class NonThreadSafePluginRule implements EnforcerRule {
     boolean fail = true;
     boolean excludeMavenPlugins = true;
     List<Plugin> exclude = new ArrayList<>(0);
+    boolean storeVerdicts = false;
+    int parallelism = 1;
+    File verdictStoreDirectory;
+    boolean logMetrics = false;
+    boolean writeMetrics = false;
+    boolean readPluginXml = false;
+    boolean reactorMode = false;
+    boolean failFast = false;
+    File knownPluginIndex;
+    String reportFormat;
+    String reportFile;
+    long lookupTimeout = 0;
+    long timeBudget = 0;
+    boolean failOnTimeout = false;
+    boolean incremental = false;
+    boolean lifecycleBindings = true;
+
+    static final String METRICS_FILE = "non-thread-safe-plugin-rule-metrics.json";
+    static final String REPORT_FILE = "non-thread-safe-plugin-rule-report.";
+    static final String FINGERPRINT_FILE = "non-thread-safe-plugin-rule.fingerprint";
+    private static final String POM_FILE = "pom.xml";
+    private static final String PASSED = "passed";
+
+    private static final ThreadFactory THREAD_FACTORY = runnable -> {
+        final Thread thread = new Thread(runnable, "NonThreadSafePluginRule");
+        thread.setDaemon(true);
+        return thread;
+    };
 
     public void execute(EnforcerRuleHelper helper) throws EnforcerRuleException {
+        if (parallelism < 1) {
+            throw new EnforcerRuleException("The parallelism must be at least 1, it is " + parallelism + ".");
+        }
+        if (lookupTimeout < 0 || timeBudget < 0) {
+            throw new EnforcerRuleException("The lookup timeout and the time budget can not be negative.");
+        }
+        // every module writes its own report, modules sharing one file would overwrite each other
+        if (reportFile != null && new File(reportFile).isAbsolute()) {
+            throw new EnforcerRuleException("The report file must be relative to the build directory of the module, it is " + reportFile + ".");
+        }
+
+        final long deadlineNanos = timeBudget > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudget) : Long.MAX_VALUE;
         try {
             final Log log = helper.getLog();
             final MavenProject project = (MavenProject) helper.evaluate("${project}");
             final MavenSession session = (MavenSession) helper.evaluate("${session}");
             final BuildPluginManager pluginManager = (BuildPluginManager) helper.getComponent(BuildPluginManager.class);
+            final LifeCyclePluginAnalyzer lifecyclePluginAnalyzer = lifecycleBindings
+                    ? (LifeCyclePluginAnalyzer) helper.getComponent(LifeCyclePluginAnalyzer.class)
+                    : null;
             final List<RemoteRepository> repositories = project.getRemotePluginRepositories();
             final RepositorySystemSession repositorySession = session.getRepositorySession();
 
+            final ReportFormat format = getReportFormat();
+            final PluginMetrics metrics = logMetrics || writeMetrics ? new PluginMetrics() : null;
+            final PluginAnalysis analysis = PluginAnalysis.forSession(repositorySession);
             final PluginService pluginService = getPluginService(pluginManager, repositories, repositorySession);
+            pluginService.setMetrics(metrics);
+            pluginService.setReadPluginXml(readPluginXml);
+            if (knownPluginIndex != null) {
+                pluginService.setKnownPluginIndex(analysis.getKnownPluginIndex(knownPluginIndex));
+            }
+            if (storeVerdicts) {
+                pluginService.setVerdictStore(VerdictStore.forDirectory(repositorySession, getVerdictStoreDirectory(repositorySession)));
+            }
+
+            final PluginExclusions exclusions = analysis.getExclusions(getEffectiveExclude());
 
-            if (excludeMavenPlugins) {
-                final Plugin mavenGroupPlugin = new Plugin();
-                mavenGroupPlugin.setGroupId("org.apache.maven.plugins");
-                exclude.add(mavenGroupPlugin);
+            // in reactor mode the exclusions are logged once, by the module that analyzes the reactor
+            if (!reactorMode) {
+                exclusions.getExclude().forEach(plugin -> LogUtil.logInfoExcludePlugin(log, plugin));
             }
 
-            exclude.forEach(plugin -> LogUtil.logInfoExcludePlugin(log, plugin));
-            final ThreadSafePlugins arePluginsThreadSafe = doesProjectHaveNonThreadSafePlugin(log, project, pluginService);
+            // the plugins of a module include the goals bound by its packaging, they are computed once per packaging and plugin set
+            final Function<MavenProject, List<Plugin>> projectPlugins = reactorProject -> lifecyclePluginAnalyzer != null
+                    ? analysis.getEffectivePlugins(reactorProject, lifecyclePluginAnalyzer)
+                    : reactorProject.getBuild().getPlugins();
+            final List<Plugin> plugins = projectPlugins.apply(project);
+
+            // modules with the same plugins and the same configuration have the same result
+            final String cacheId = computeCacheId(plugins);
+            final Path fingerprintFile = incremental ? new File(project.getBuild().getDirectory(), FINGERPRINT_FILE).toPath() : null;
+            if (incremental && !hasSnapshotPlugins(plugins, exclusions) && isFingerprintUnchanged(fingerprintFile, cacheId)) {
+                log.debug("NonThreadSafePluginRule: Skip, the plugins did not change since the last build.");
+                // only passed verdicts are fingerprinted, the report of a skipped module has no violations
+                if (format != null) {
+                    writeReport(log, session, project, plugins, format, exclusions, new ArrayList<>(0));
+                }
+                return;
+            }
+
+            final List<Plugin> timedOutPlugins = new ArrayList<>(0);
+            List<PluginGoals> nonThreadSafePlugins = reactorMode
+                    ? getReactorResults(log, session, project, projectPlugins, pluginService, exclusions, deadlineNanos, timedOutPlugins)
+                    : null;
+            if (nonThreadSafePlugins == null) {
+                final Map<String, List<PluginGoals>> results = SessionStore.get(repositorySession, NonThreadSafePluginRule.class, "results", ConcurrentHashMap::new);
+                nonThreadSafePlugins = results.get(cacheId);
+                if (nonThreadSafePlugins == null) {
+                    nonThreadSafePlugins = getNonThreadSafePlugins(plugins, pluginService, exclusions, isFailFast(), deadlineNanos, timedOutPlugins);
+                    // a fail fast result or a result with timed out lookups can be missing plugins that were not resolved
+                    if ((!isFailFast() || nonThreadSafePlugins.isEmpty()) && timedOutPlugins.isEmpty()) {
+                        results.put(cacheId, nonThreadSafePlugins);
+                    }
+                } else {
+                    log.debug("NonThreadSafePluginRule: Reuse the result of the plugin set " + cacheId + ".");
+                    if (metrics != null) {
+                        metrics.recordResultReused();
+                    }
+                }
+            }
+
+            if (logMetrics) {
+                LogUtil.logInfoMetrics(log, metrics);
+            }
+            if (writeMetrics) {
+                writeMetrics(log, project, metrics);
+            }
+
+            nonThreadSafePlugins.forEach(nonThreadSafePlugin -> LogUtil.logErrorGoalsOfPluginAreNotThreadSafe(log, nonThreadSafePlugin.getPlugin(), nonThreadSafePlugin.getGoals()));
+            if (failOnTimeout) {
+                timedOutPlugins.forEach(plugin -> LogUtil.logErrorLookupOfPluginTimedOut(log, plugin));
+            } else {
+                timedOutPlugins.forEach(plugin -> LogUtil.logWarnLookupOfPluginTimedOut(log, plugin));
+            }
+            if (format != null) {
+                writeReport(log, session, project, plugins, format, exclusions, nonThreadSafePlugins);
+            }
+            final ThreadSafePlugins arePluginsThreadSafe = nonThreadSafePlugins.isEmpty()
+                    ? ThreadSafePlugins.ALL_PLUGINS_ARE_THREAD_SAFE
+                    : ThreadSafePlugins.NOT_ALL_PLUGINS_ARE_THREAD_SAFE;
+
+            if (incremental) {
+                writeFingerprint(log, fingerprintFile, cacheId, arePluginsThreadSafe.equals(ThreadSafePlugins.ALL_PLUGINS_ARE_THREAD_SAFE) && timedOutPlugins.isEmpty());
+            }
 
             if (this.fail && arePluginsThreadSafe.equals(ThreadSafePlugins.NOT_ALL_PLUGINS_ARE_THREAD_SAFE)) {
                 throw new EnforcerRuleException("Use of non thread safe plugins is not allowed.");
             }
+            if (this.fail && failOnTimeout && !timedOutPlugins.isEmpty()) {
+                throw new EnforcerRuleException("The thread safety of some plugins is unknown because their lookup timed out.");
+            }
 
         } catch (ExpressionEvaluationException
                 | ComponentLookupException
@@ -63,41 +220,449 @@ public class NonThreadSafePluginRule implements EnforcerRule {
                 | InvalidPluginDescriptorException
                 | PluginDescriptorParsingException
                 | PluginResolutionException
-                | MojoNotFoundException e) {
+                | MojoNotFoundException
+                | InvalidVersionSpecificationException
+                | IOException e) {
             throw new EnforcerRuleException(e.getMessage(), e);
         }
     }
 
-    private ThreadSafePlugins doesProjectHaveNonThreadSafePlugin(Log log, MavenProject project, PluginService pluginService) throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
-        ThreadSafePlugins arePluginsThreadSafe = ThreadSafePlugins.ALL_PLUGINS_ARE_THREAD_SAFE;
-        for (Plugin plugin : project.getBuild().getPlugins()) {
-            if (PluginMatcher.doesPluginMatchInList(plugin, exclude)) {
-                continue;
+    /**
+     * Analyzes all the projects of the reactor the first time it is called in the session, every distinct plugin
+     * with the same goals is resolved once. The later calls, from the other modules, return the stored result.
+     * Every configuration of the rule is analyzed once, executions with another configuration do not wait for it.
+     * A result with timed out lookups is not stored, the next module analyzes the reactor again.
+     *
+     * @param timedOutPlugins Receives the plugins of the project whose lookup timed out.
+     * @return The non thread safe plugins of the project or null if the project is not part of the reactor.
+     */
+    private List<PluginGoals> getReactorResults(Log log, MavenSession session, MavenProject project, Function<MavenProject, List<Plugin>> projectPlugins, PluginService pluginService, PluginExclusions exclusions, long deadlineNanos, List<Plugin> timedOutPlugins) throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+        final PluginCache<ReactorResult> reactorResults = SessionStore.get(session.getRepositorySession(), NonThreadSafePluginRule.class, "reactorResults", PluginCache::new);
+        // the id of an empty plugin list identifies the configuration of the rule
+        final String configurationId = computeCacheId(new ArrayList<>(0));
+
+        // the failures of the analysis are reported as failures of the project that waits for it
+        final Plugin reactorPlugin = new Plugin();
+        reactorPlugin.setGroupId(project.getGroupId());
+        reactorPlugin.setArtifactId(project.getArtifactId());
+        reactorPlugin.setVersion(project.getVersion());
+
+        // the other modules wait for the analysis of the reactor instead of repeating it
+        final ReactorResult reactorResult = reactorResults.get(reactorPlugin, configurationId, () -> {
+            exclusions.getExclude().forEach(plugin -> LogUtil.logInfoExcludePlugin(log, plugin));
+
+            final Map<String, Plugin> distinctPlugins = new LinkedHashMap<>();
+            for (MavenProject reactorProject : session.getProjects()) {
+                for (Plugin plugin : projectPlugins.apply(reactorProject)) {
+                    distinctPlugins.putIfAbsent(getPluginGoalsKey(plugin), plugin);
+                }
+            }
+            // the result is shared by all the modules, it can not stop at the first violation
+            final List<Plugin> distinctTimedOutPlugins = new ArrayList<>(0);
+            final List<PluginGoals> distinctNonThreadSafePlugins = getNonThreadSafePlugins(new ArrayList<>(distinctPlugins.values()), pluginService, exclusions, false, deadlineNanos, distinctTimedOutPlugins);
+
+            final Map<String, List<String>> nonThreadSafeGoals = new LinkedHashMap<>();
+            for (PluginGoals pluginGoals : distinctNonThreadSafePlugins) {
+                nonThreadSafeGoals.put(getPluginGoalsKey(pluginGoals.getPlugin()), pluginGoals.getGoals());
+            }
+
+            final Map<String, List<PluginGoals>> projectResults = new LinkedHashMap<>();
+            for (MavenProject reactorProject : session.getProjects()) {
+                final List<PluginGoals> nonThreadSafePlugins = new ArrayList<>(0);
+                for (Plugin plugin : projectPlugins.apply(reactorProject)) {
+                    final List<String> goals = nonThreadSafeGoals.get(getPluginGoalsKey(plugin));
+                    if (goals != null) {
+                        nonThreadSafePlugins.add(new PluginGoals(plugin, goals));
+                    }
+                }
+                projectResults.put(reactorProject.getId(), nonThreadSafePlugins);
+            }
+
+            final Set<String> timedOutKeys = new HashSet<>();
+            distinctTimedOutPlugins.forEach(plugin -> timedOutKeys.add(getPluginGoalsKey(plugin)));
+
+            log.debug("NonThreadSafePluginRule: Analyzed " + distinctPlugins.size() + " distinct plugins of " + projectResults.size() + " projects.");
+            return new ReactorResult(projectResults, timedOutKeys);
+        });
+
+        if (!reactorResult.timedOutKeys.isEmpty()) {
+            reactorResults.remove(configurationId);
+            for (Plugin plugin : projectPlugins.apply(project)) {
+                if (reactorResult.timedOutKeys.contains(getPluginGoalsKey(plugin))) {
+                    timedOutPlugins.add(plugin);
+                }
+            }
+        }
+        return reactorResult.projectResults.get(project.getId());
+    }
+
+    private static String getPluginGoalsKey(Plugin plugin) {
+        final StringBuilder key = new StringBuilder(plugin.getId());
+        for (PluginExecution execution : plugin.getExecutions()) {
+            key.append(" ").append(execution.getGoals());
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Returns the exclusion list of the execution without changing the configured list,
+     * so executing the rule again, or from many threads at once, always sees the same exclusions.
+     */
+    List<Plugin> getEffectiveExclude() {
+        final List<Plugin> effectiveExclude = new ArrayList<>(exclude);
+        if (excludeMavenPlugins) {
+            final Plugin mavenGroupPlugin = new Plugin();
+            mavenGroupPlugin.setGroupId("org.apache.maven.plugins");
+            effectiveExclude.add(mavenGroupPlugin);
+        }
+
+        return Collections.unmodifiableList(effectiveExclude);
+    }
+
+    /**
+     * The build fails anyway after the first violation, there is no point in resolving the remaining plugins.
+     */
+    private boolean isFailFast() {
+        return failFast && fail;
+    }
+
+    private boolean hasTimeouts() {
+        return lookupTimeout > 0 || timeBudget > 0;
+    }
+
+    /**
+     * @param deadlineNanos   The end of the time budget of the execution, {@link Long#MAX_VALUE} if there is no time budget.
+     * @param timedOutPlugins Receives the plugins whose lookup timed out, their thread safety is unknown.
+     */
+    private List<PluginGoals> getNonThreadSafePlugins(List<Plugin> projectPlugins, PluginService pluginService, PluginExclusions exclusions, boolean stopAtFirstViolation, long deadlineNanos, List<Plugin> timedOutPlugins) throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+        final List<Plugin> plugins = new ArrayList<>(0);
+        for (Plugin plugin : projectPlugins) {
+            if (!exclusions.matches(plugin)) {
+                plugins.add(plugin);
+            }
+        }
+
+        // lookups that can time out run on the pool so the rule can stop waiting for them
+        final List<List<String>> nonThreadSafeGoals = !plugins.isEmpty() && (parallelism > 1 && plugins.size() > 1 || hasTimeouts())
+                ? getNonThreadSafeGoalsInParallel(plugins, pluginService, stopAtFirstViolation, deadlineNanos, timedOutPlugins)
+                : getNonThreadSafeGoals(plugins, pluginService, stopAtFirstViolation);
+
+        final List<PluginGoals> nonThreadSafePlugins = new ArrayList<>(0);
+        for (int i = 0; i < plugins.size(); i++) {
+            // plugins that were not resolved because of fail fast have no result
+            if (nonThreadSafeGoals.get(i) != null && !nonThreadSafeGoals.get(i).isEmpty()) {
+                nonThreadSafePlugins.add(new PluginGoals(plugins.get(i), nonThreadSafeGoals.get(i)));
+            }
+        }
+
+        return nonThreadSafePlugins;
+    }
+
+    private List<List<String>> getNonThreadSafeGoals(List<Plugin> plugins, PluginService pluginService, boolean stopAtFirstViolation) throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+        final List<List<String>> nonThreadSafeGoals = new ArrayList<>(Collections.nCopies(plugins.size(), null));
+        for (int i = 0; i < plugins.size(); i++) {
+            nonThreadSafeGoals.set(i, pluginService.getNonThreadSafeGoals(plugins.get(i)));
+            if (stopAtFirstViolation && !nonThreadSafeGoals.get(i).isEmpty()) {
+                break;
+            }
+        }
+
+        return nonThreadSafeGoals;
+    }
+
+    /**
+     * Resolves the plugins on a bounded pool of threads, so the rule waits for the slowest plugin instead of
+     * waiting for all of them one after the other. The results are in the order of the plugins.
+     * When it stops at the first violation the lookups that are still running are cancelled.
+     * A lookup that runs longer than the lookup timeout, or that is not done at the end of the time budget, is cancelled
+     * and its plugin is added to the timed out plugins.
+     */
+    private List<List<String>> getNonThreadSafeGoalsInParallel(List<Plugin> plugins, PluginService pluginService, boolean stopAtFirstViolation, long deadlineNanos, List<Plugin> timedOutPlugins) throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, plugins.size()), THREAD_FACTORY);
+        final ScheduledExecutorService watchdog = lookupTimeout > 0 ? Executors.newSingleThreadScheduledExecutor(THREAD_FACTORY) : null;
+
+        try {
+            // the index of every lookup that is done, cancelled lookups included
+            final BlockingQueue<Integer> done = new LinkedBlockingQueue<>();
+            final List<FutureTask<List<String>>> lookups = new ArrayList<>(plugins.size());
+            for (int i = 0; i < plugins.size(); i++) {
+                final int index = i;
+                final Plugin plugin = plugins.get(i);
+                lookups.add(new FutureTask<List<String>>(() -> {
+                    if (watchdog != null) {
+                        watchdog.schedule(() -> lookups.get(index).cancel(true), lookupTimeout, TimeUnit.MILLISECONDS);
+                    }
+                    return pluginService.getNonThreadSafeGoals(plugin);
+                }) {
+                    @Override
+                    protected void done() {
+                        done.add(index);
+                    }
+                });
+            }
+            lookups.forEach(executor::execute);
+
+            final List<List<String>> nonThreadSafeGoals = new ArrayList<>(Collections.nCopies(plugins.size(), null));
+            final boolean[] collected = new boolean[plugins.size()];
+            final boolean[] timedOut = new boolean[plugins.size()];
+            for (int remaining = plugins.size(); remaining > 0; ) {
+                final Integer index;
+                try {
+                    index = deadlineNanos == Long.MAX_VALUE
+                            ? done.take()
+                            : done.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new PluginResolutionException(plugins.get(indexOf(collected, false)), e);
+                }
+
+                if (index == null) {
+                    // the time budget is spent, the lookups that are not done are abandoned
+                    for (int i = 0; i < plugins.size(); i++) {
+                        if (!collected[i]) {
+                            lookups.get(i).cancel(true);
+                            timedOut[i] = true;
+                        }
+                    }
+                    break;
+                }
+                if (collected[index]) {
+                    continue;
+                }
+                collected[index] = true;
+                remaining--;
+
+                final FutureTask<List<String>> lookup = lookups.get(index);
+                if (lookup.isCancelled()) {
+                    timedOut[index] = true;
+                    continue;
+                }
+                try {
+                    nonThreadSafeGoals.set(index, lookup.get());
+                } catch (ExecutionException e) {
+                    throw PluginExceptions.rethrow(plugins.get(index), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new PluginResolutionException(plugins.get(index), e);
+                }
+
+                if (stopAtFirstViolation && !nonThreadSafeGoals.get(index).isEmpty()) {
+                    lookups.forEach(outstanding -> outstanding.cancel(true));
+                    break;
+                }
+            }
+
+            for (int i = 0; i < plugins.size(); i++) {
+                if (timedOut[i]) {
+                    timedOutPlugins.add(plugins.get(i));
+                }
+            }
+
+            return nonThreadSafeGoals;
+        } finally {
+            executor.shutdownNow();
+            if (watchdog != null) {
+                watchdog.shutdownNow();
+            }
+        }
+    }
+
+    private static int indexOf(boolean[] values, boolean value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
             }
+        }
+
+        return -1;
+    }
 
-            final List<String> nonThreadSafeGoals = pluginService.getNonThreadSafeGoals(plugin);
-            if (!nonThreadSafeGoals.isEmpty()) {
-                LogUtil.logErrorGoalsOfPluginAreNotThreadSafe(log, plugin, nonThreadSafeGoals);
-                arePluginsThreadSafe = ThreadSafePlugins.NOT_ALL_PLUGINS_ARE_THREAD_SAFE;
+    /**
+     * The cache id is a digest of everything the result of the rule depends on:
+     * the plugins with the goals of their executions, the exclusion list, the flags of the rule
+     * and the options that choose the analyzed plugins or the source of their verdicts.
+     *
+     * @param plugins The plugins of the project.
+     * @return The cache id.
+     */
+    String computeCacheId(List<Plugin> plugins) {
+        final StringBuilder input = new StringBuilder();
+        for (Plugin plugin : plugins) {
+            input.append("plugin ").append(plugin.getId());
+            for (PluginExecution execution : plugin.getExecutions()) {
+                input.append(" ").append(execution.getGoals());
             }
+            input.append("\n");
+        }
+        for (Plugin plugin : exclude) {
+            input.append("exclude ").append(plugin.getGroupId())
+                    .append(":").append(plugin.getArtifactId())
+                    .append(":").append(plugin.getVersion())
+                    .append("\n");
         }
+        input.append("excludeMavenPlugins ").append(excludeMavenPlugins).append("\n");
+        input.append("fail ").append(fail).append("\n");
+        input.append("lifecycleBindings ").append(lifecycleBindings).append("\n");
+        input.append("knownPluginIndex ").append(knownPluginIndex).append("\n");
+        input.append("readPluginXml ").append(readPluginXml).append("\n");
+        input.append("storeVerdicts ").append(storeVerdicts).append(" ").append(verdictStoreDirectory).append("\n");
 
-        return arePluginsThreadSafe;
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1").digest(input.toString().getBytes(StandardCharsets.UTF_8));
+            final char[] cacheId = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                cacheId[i * 2] = Character.forDigit((digest[i] >> 4) & 0xf, 16);
+                cacheId[i * 2 + 1] = Character.forDigit(digest[i] & 0xf, 16);
+            }
+            return new String(cacheId);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     public String getCacheId() {
         return null;
     }
 
+    /**
+     * The plugins of the project are known only inside {@link #execute(EnforcerRuleHelper)},
+     * results are reused there through the session, by the id of the analyzed plugin set.
+     */
     public boolean isCacheable() {
         return false;
     }
 
-    public boolean isResultValid(EnforcerRule arg0) {
+    public boolean isResultValid(EnforcerRule cachedRule) {
+        return false;
+    }
+
+    /**
+     * Snapshot plugins can change without changing the fingerprint, they are always checked again.
+     */
+    private static boolean hasSnapshotPlugins(List<Plugin> plugins, PluginExclusions exclusions) {
+        for (Plugin plugin : plugins) {
+            if (!VerdictStore.isStorable(plugin) && !exclusions.matches(plugin)) {
+                return true;
+            }
+        }
+
         return false;
     }
 
+    /**
+     * The fingerprint file holds the cache id of the last build and its verdict, only passed verdicts are reused.
+     */
+    private static boolean isFingerprintUnchanged(Path fingerprintFile, String cacheId) {
+        try {
+            return Files.isRegularFile(fingerprintFile)
+                    && Files.readAllLines(fingerprintFile, StandardCharsets.UTF_8).equals(Arrays.asList(cacheId, PASSED));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void writeFingerprint(Log log, Path fingerprintFile, String cacheId, boolean passed) {
+        try {
+            if (passed) {
+                Files.createDirectories(fingerprintFile.getParent());
+                Files.write(fingerprintFile, Arrays.asList(cacheId, PASSED), StandardCharsets.UTF_8);
+            } else {
+                Files.deleteIfExists(fingerprintFile);
+            }
+        } catch (IOException e) {
+            log.warn("NonThreadSafePluginRule: Could not write the fingerprint to " + fingerprintFile + ": " + e.getMessage());
+        }
+    }
+
+    private ReportFormat getReportFormat() throws EnforcerRuleException {
+        if (reportFormat == null || reportFormat.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return ReportFormat.valueOf(reportFormat.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new EnforcerRuleException("Unknown report format \"" + reportFormat + "\", use \"json\" or \"sarif\".", e);
+        }
+    }
+
+    /**
+     * Writes the excluded plugins, with the exclude entries that matched them, and the non thread safe goals
+     * to the report file of the module, once the module is analyzed.
+     */
+    private void writeReport(Log log, MavenSession session, MavenProject project, List<Plugin> plugins, ReportFormat format, PluginExclusions exclusions, List<PluginGoals> nonThreadSafePlugins) {
+        final Path file = new File(project.getBuild().getDirectory(), reportFile != null ? reportFile : REPORT_FILE + format.getExtension()).toPath();
+
+        try (ViolationReport report = ViolationReport.open(format, file, project.getId(), getPomPath(session, project), fail)) {
+            for (Plugin plugin : plugins) {
+                if (exclusions.matches(plugin)) {
+                    final List<Plugin> matchedBy = new ArrayList<>(1);
+                    for (Plugin entry : exclusions.getExclude()) {
+                        if (PluginMatcher.isPluginMatchFor(plugin, entry)) {
+                            matchedBy.add(entry);
+                        }
+                    }
+                    report.exclusion(plugin, matchedBy);
+                }
+            }
+            for (PluginGoals nonThreadSafePlugin : nonThreadSafePlugins) {
+                for (String goal : nonThreadSafePlugin.getGoals()) {
+                    report.violation(nonThreadSafePlugin.getPlugin(), goal);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("NonThreadSafePluginRule: Could not write the report to " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The path of the pom of the project relative to the root of the build, with forward slashes.
+     */
+    static String getPomPath(MavenSession session, MavenProject project) {
+        final File pom = project.getFile();
+        final String root = session.getExecutionRootDirectory();
+        if (pom == null || root == null) {
+            return POM_FILE;
+        }
+
+        try {
+            return Paths.get(root).toAbsolutePath().relativize(pom.toPath().toAbsolutePath()).toString().replace(File.separatorChar, '/');
+        } catch (IllegalArgumentException e) {
+            // the pom is on another drive than the root of the build
+            return pom.getName();
+        }
+    }
+
+    private void writeMetrics(Log log, MavenProject project, PluginMetrics metrics) {
+        final Path file = new File(project.getBuild().getDirectory(), METRICS_FILE).toPath();
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, metrics.toJson(project.getId()).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.warn("NonThreadSafePluginRule: Could not write the metrics to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private File getVerdictStoreDirectory(RepositorySystemSession repositorySession) {
+        if (verdictStoreDirectory != null) {
+            return verdictStoreDirectory;
+        }
+
+        return VerdictStore.getDefaultDirectory(repositorySession);
+    }
+
     PluginService getPluginService(BuildPluginManager pluginManager, List<RemoteRepository> repositories, RepositorySystemSession repositorySession) {
-        return new PluginService(pluginManager, repositories, repositorySession);
+        return PluginAnalysis.forSession(repositorySession).createPluginService(pluginManager, repositories);
+    }
+
+    private static class ReactorResult {
+        private final Map<String, List<PluginGoals>> projectResults;
+        private final Set<String> timedOutKeys;
+
+        private ReactorResult(Map<String, List<PluginGoals>> projectResults, Set<String> timedOutKeys) {
+            this.projectResults = projectResults;
+            this.timedOutKeys = timedOutKeys;
+        }
     }
 }
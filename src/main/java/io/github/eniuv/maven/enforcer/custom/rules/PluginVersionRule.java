@@ -0,0 +1,180 @@
+package io.github.eniuv.maven.enforcer.custom.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.enforcer.rule.api.EnforcerRule;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.BuildBase;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.model.Profile;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+
+import io.github.eniuv.maven.enforcer.custom.rules.log.LogUtil;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginAnalysis;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginExclusions;
+import io.github.eniuv.maven.enforcer.custom.rules.session.SessionStore;
+
+/**
+ * Reports the plugins of a module with a SNAPSHOT version, a meta version like "LATEST" or no version at all,
+ * maven checks the remote metadata of these plugins on every build.
+ */
+public class PluginVersionRule implements EnforcerRule {
+    // all variables are accessed from enforcer plugin via reflection
+    // there is no point in making them private
+    boolean fail = true;
+    List<Plugin> exclude = new ArrayList<>(0);
+
+    public void execute(EnforcerRuleHelper helper) throws EnforcerRuleException {
+        try {
+            final Log log = helper.getLog();
+            final MavenProject project = (MavenProject) helper.evaluate("${project}");
+            final MavenSession session = (MavenSession) helper.evaluate("${session}");
+
+            final PluginExclusions exclusions = PluginAnalysis.forSession(session.getRepositorySession()).getExclusions(exclude);
+
+            final List<Plugin> plugins = getPluginsWithoutFixedVersion(project, exclusions);
+            if (plugins.isEmpty()) {
+                return;
+            }
+            plugins.forEach(plugin -> LogUtil.logErrorPluginVersionIsNotFixed(log, plugin));
+
+            // the reactor is counted once per session and exclusion list, not once per module
+            final Map<PluginExclusions, ReactorLookups> reactorLookups = SessionStore.get(session.getRepositorySession(), PluginVersionRule.class, "reactorLookups", ConcurrentHashMap::new);
+            final ReactorLookups lookups = reactorLookups.computeIfAbsent(exclusions, key -> countReactorLookups(session.getProjects(), exclusions));
+            LogUtil.logInfoRemoteMetadataLookups(log, lookups.lookups, lookups.modules);
+
+            if (fail) {
+                throw new EnforcerRuleException("Use of plugins without a fixed version is not allowed.");
+            }
+
+        } catch (ExpressionEvaluationException
+                | InvalidVersionSpecificationException e) {
+            throw new EnforcerRuleException(e.getMessage(), e);
+        }
+    }
+
+    private static ReactorLookups countReactorLookups(List<MavenProject> projects, PluginExclusions exclusions) {
+        int lookups = 0;
+        int modules = 0;
+        for (MavenProject project : projects) {
+            final int projectLookups = getPluginsWithoutFixedVersion(project, exclusions).size();
+            lookups += projectLookups;
+            modules += projectLookups > 0 ? 1 : 0;
+        }
+
+        return new ReactorLookups(lookups, modules);
+    }
+
+    /**
+     * Maven fills in the version of every build plugin before the rule runs, so the version the user declared is read
+     * from the original models of the project and its parents, with their plugin management and their active profiles.
+     * Plugins that are only bound by the packaging are not declared, they get their version from the lifecycle.
+     * A version in the effective plugin management is fixed as well, it can come from a parent outside of the reactor
+     * or from the super POM, maven does not look up the metadata of these plugins.
+     *
+     * @return The declared plugins without a fixed version, a plugin without a declared version has no version.
+     */
+    static List<Plugin> getPluginsWithoutFixedVersion(MavenProject project, PluginExclusions exclusions) {
+        final List<Plugin> plugins = new ArrayList<>(0);
+        for (Plugin plugin : project.getBuild().getPlugins()) {
+            if (exclusions.matches(plugin)) {
+                continue;
+            }
+
+            final Declaration declaration = getDeclaration(project, plugin.getKey());
+            if (!declaration.declared) {
+                continue;
+            }
+            if (!declaration.versioned && !isManaged(project, plugin.getKey())) {
+                final Plugin unversionedPlugin = plugin.clone();
+                unversionedPlugin.setVersion(null);
+                plugins.add(unversionedPlugin);
+            } else if (!isFixedVersion(plugin.getVersion())) {
+                plugins.add(plugin);
+            }
+        }
+        return plugins;
+    }
+
+    private static Declaration getDeclaration(MavenProject project, String pluginKey) {
+        final Declaration declaration = new Declaration();
+        for (MavenProject declaringProject = project; declaringProject != null; declaringProject = declaringProject.getParent()) {
+            final Model model = declaringProject.getOriginalModel() != null ? declaringProject.getOriginalModel() : declaringProject.getModel();
+            declaration.add(model.getBuild(), pluginKey);
+            for (Profile profile : declaringProject.getActiveProfiles()) {
+                declaration.add(profile.getBuild(), pluginKey);
+            }
+        }
+
+        return declaration;
+    }
+
+    private static boolean isManaged(MavenProject project, String pluginKey) {
+        final PluginManagement pluginManagement = project.getPluginManagement();
+        final Plugin managedPlugin = pluginManagement != null ? pluginManagement.getPluginsAsMap().get(pluginKey) : null;
+        return managedPlugin != null && managedPlugin.getVersion() != null;
+    }
+
+    static boolean isFixedVersion(String version) {
+        return version != null
+                && !version.trim().isEmpty()
+                && !ArtifactUtils.isSnapshot(version)
+                && !Artifact.LATEST_VERSION.equals(version)
+                && !Artifact.RELEASE_VERSION.equals(version);
+    }
+
+    public boolean isCacheable() {
+        return false;
+    }
+
+    public boolean isResultValid(EnforcerRule cachedRule) {
+        return false;
+    }
+
+    public String getCacheId() {
+        return null;
+    }
+
+    private static class Declaration {
+        private boolean declared;
+        private boolean versioned;
+
+        private void add(BuildBase build, String pluginKey) {
+            if (build == null) {
+                return;
+            }
+
+            final Plugin plugin = build.getPluginsAsMap().get(pluginKey);
+            if (plugin != null) {
+                declared = true;
+                versioned |= plugin.getVersion() != null;
+            }
+            final Plugin managedPlugin = build.getPluginManagement() != null ? build.getPluginManagement().getPluginsAsMap().get(pluginKey) : null;
+            if (managedPlugin != null) {
+                versioned |= managedPlugin.getVersion() != null;
+            }
+        }
+    }
+
+    private static class ReactorLookups {
+        private final int lookups;
+        private final int modules;
+
+        private ReactorLookups(int lookups, int modules) {
+            this.lookups = lookups;
+            this.modules = modules;
+        }
+    }
+}
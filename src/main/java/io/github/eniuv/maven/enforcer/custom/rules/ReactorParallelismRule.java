@@ -0,0 +1,139 @@
+package io.github.eniuv.maven.enforcer.custom.rules;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.enforcer.rule.api.EnforcerRule;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.execution.ProjectDependencyGraph;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.InvalidPluginDescriptorException;
+import org.apache.maven.plugin.MojoNotFoundException;
+import org.apache.maven.plugin.PluginDescriptorParsingException;
+import org.apache.maven.plugin.PluginNotFoundException;
+import org.apache.maven.plugin.PluginResolutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import io.github.eniuv.maven.enforcer.custom.rules.log.LogUtil;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginAnalysis;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginExclusions;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginService;
+import io.github.eniuv.maven.enforcer.custom.rules.reactor.ReactorParallelism;
+import io.github.eniuv.maven.enforcer.custom.rules.session.SessionStore;
+
+/**
+ * Reports how much of the reactor can be built in parallel with "-T".
+ * The reactor is analyzed once per session, by the first module that runs the rule.
+ */
+public class ReactorParallelismRule implements EnforcerRule {
+    // all variables are accessed from enforcer plugin via reflection
+    // there is no point in making them private
+    boolean excludeMavenPlugins = true;
+    List<Plugin> exclude = new ArrayList<>(0);
+    double minSpeedup = 0;
+    File knownPluginIndex;
+
+    public void execute(EnforcerRuleHelper helper) throws EnforcerRuleException {
+        try {
+            final Log log = helper.getLog();
+            final MavenProject project = (MavenProject) helper.evaluate("${project}");
+            final MavenSession session = (MavenSession) helper.evaluate("${session}");
+            final BuildPluginManager pluginManager = (BuildPluginManager) helper.getComponent(BuildPluginManager.class);
+            final RepositorySystemSession repositorySession = session.getRepositorySession();
+
+            final PluginService pluginService = getPluginService(pluginManager, project.getRemotePluginRepositories(), repositorySession);
+            if (knownPluginIndex != null) {
+                pluginService.setKnownPluginIndex(PluginAnalysis.forSession(repositorySession).getKnownPluginIndex(knownPluginIndex));
+            }
+
+            final List<Plugin> effectiveExclude = new ArrayList<>(exclude);
+            if (excludeMavenPlugins) {
+                final Plugin mavenGroupPlugin = new Plugin();
+                mavenGroupPlugin.setGroupId("org.apache.maven.plugins");
+                effectiveExclude.add(mavenGroupPlugin);
+            }
+            final PluginExclusions exclusions = PluginAnalysis.forSession(repositorySession).getExclusions(effectiveExclude);
+
+            final ReactorParallelism parallelism = getReactorParallelism(log, session, pluginService, exclusions);
+            if (minSpeedup > 0 && parallelism.getSpeedup() < minSpeedup) {
+                throw new EnforcerRuleException("The theoretical speedup of the reactor " + LogUtil.formatSpeedup(parallelism.getSpeedup())
+                        + " is below the minimum speedup " + LogUtil.formatSpeedup(minSpeedup) + ".");
+            }
+
+        } catch (ExpressionEvaluationException
+                | ComponentLookupException
+                | PluginNotFoundException
+                | InvalidPluginDescriptorException
+                | PluginDescriptorParsingException
+                | PluginResolutionException
+                | MojoNotFoundException
+                | InvalidVersionSpecificationException
+                | IOException e) {
+            throw new EnforcerRuleException(e.getMessage(), e);
+        }
+    }
+
+    private ReactorParallelism getReactorParallelism(Log log, MavenSession session, PluginService pluginService, PluginExclusions exclusions) throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+        final Map<List<Object>, ReactorParallelism> results = SessionStore.get(session.getRepositorySession(), ReactorParallelismRule.class, "results", ConcurrentHashMap::new);
+        // every configured field is part of the key, executions with another configuration analyze the reactor again
+        final List<Object> key = Arrays.asList(excludeMavenPlugins, exclusions, minSpeedup, knownPluginIndex);
+
+        // the other modules wait for the analysis of the reactor instead of repeating it
+        synchronized (results) {
+            ReactorParallelism parallelism = results.get(key);
+            if (parallelism != null) {
+                return parallelism;
+            }
+
+            final ProjectDependencyGraph graph = session.getProjectDependencyGraph();
+            final List<MavenProject> projects = graph != null ? graph.getSortedProjects() : session.getProjects();
+
+            final Set<String> nonThreadSafeProjectIds = new HashSet<>();
+            for (MavenProject reactorProject : projects) {
+                for (Plugin plugin : reactorProject.getBuild().getPlugins()) {
+                    if (!exclusions.matches(plugin) && !pluginService.getNonThreadSafeGoals(plugin).isEmpty()) {
+                        nonThreadSafeProjectIds.add(reactorProject.getId());
+                        break;
+                    }
+                }
+            }
+
+            parallelism = ReactorParallelism.analyze(projects, graph, nonThreadSafeProjectIds);
+            LogUtil.logInfoReactorParallelism(log, parallelism);
+            results.put(key, parallelism);
+            return parallelism;
+        }
+    }
+
+    public String getCacheId() {
+        return null;
+    }
+
+    public boolean isCacheable() {
+        return false;
+    }
+
+    public boolean isResultValid(EnforcerRule cachedRule) {
+        return false;
+    }
+
+    PluginService getPluginService(BuildPluginManager pluginManager, List<RemoteRepository> repositories, RepositorySystemSession repositorySession) {
+        return PluginAnalysis.forSession(repositorySession).createPluginService(pluginManager, repositories);
+    }
+}
@@ -0,0 +1,250 @@
+package io.github.eniuv.maven.enforcer.custom.rules.extension;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.LifeCyclePluginAnalyzer;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.RepositorySystemSession;
+
+import io.github.eniuv.maven.enforcer.custom.rules.NonThreadSafePluginRule;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.KnownPluginIndex;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginAnalysis;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginExclusions;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginService;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.VerdictStore;
+
+/**
+ * Optional build extension that resolves the thread safety of all the plugins of the reactor in the background,
+ * as soon as the projects are read. The verdicts are put into the caches of the session so the rules only wait
+ * for lookups that are already done or still in progress.
+ *
+ * The prefetch uses the options of the first {@link NonThreadSafePluginRule} configured in the reactor:
+ * its exclusions, its verdict store, the plugin.xml reader, its index of well known plugins and the lifecycle bindings,
+ * so it looks up the same plugins as the rule and the rule never waits for a slower lookup than its own.
+ * Nothing is prefetched when the rule is not configured.
+ * Set the user property "nonThreadSafePluginRule.prefetch" to "false" to disable the prefetch
+ * and "nonThreadSafePluginRule.prefetchThreads" to change the number of threads.
+ */
+@Named("non-thread-safe-plugin-prefetch")
+@Singleton
+public class PluginPrefetchParticipant extends AbstractMavenLifecycleParticipant {
+    static final String PREFETCH_PROPERTY = "nonThreadSafePluginRule.prefetch";
+    static final String PREFETCH_THREADS_PROPERTY = "nonThreadSafePluginRule.prefetchThreads";
+    static final String ENFORCER_PLUGIN_KEY = "org.apache.maven.plugins:maven-enforcer-plugin";
+    private static final String MAVEN_PLUGINS_GROUP_ID = "org.apache.maven.plugins";
+
+    private final BuildPluginManager pluginManager;
+    private final LifeCyclePluginAnalyzer lifecyclePluginAnalyzer;
+
+    // the prefetch of the current session, a build runs one session at a time
+    private volatile ExecutorService executor;
+
+    @Inject
+    public PluginPrefetchParticipant(BuildPluginManager pluginManager, LifeCyclePluginAnalyzer lifecyclePluginAnalyzer) {
+        this.pluginManager = pluginManager;
+        this.lifecyclePluginAnalyzer = lifecyclePluginAnalyzer;
+    }
+
+    @Override
+    public void afterProjectsRead(MavenSession session) {
+        if (!Boolean.parseBoolean(session.getUserProperties().getProperty(PREFETCH_PROPERTY, "true"))) {
+            return;
+        }
+
+        final MavenProject ruleProject = findRuleProject(session.getProjects());
+        if (ruleProject == null) {
+            return;
+        }
+        final Xpp3Dom rule = findRuleConfiguration(ruleProject);
+        final RepositorySystemSession repositorySession = session.getRepositorySession();
+        final PluginAnalysis analysis = PluginAnalysis.forSession(repositorySession);
+        final PluginExclusions exclusions;
+        try {
+            exclusions = analysis.getExclusions(getExclude(rule));
+        } catch (InvalidVersionSpecificationException e) {
+            // the rule reports the invalid exclusion list
+            return;
+        }
+
+        // the plugins bound by the packaging are most of the lookups, they are prefetched like the rule checks them
+        final boolean lifecycleBindings = getBoolean(rule, "lifecycleBindings", true);
+
+        // every distinct plugin is looked up once, with the repositories of the first project that uses it
+        final Map<String, Plugin> plugins = new LinkedHashMap<>();
+        final Map<String, MavenProject> projects = new LinkedHashMap<>();
+        for (MavenProject project : session.getProjects()) {
+            final List<Plugin> projectPlugins = lifecycleBindings
+                    ? analysis.getEffectivePlugins(project, lifecyclePluginAnalyzer)
+                    : project.getBuild().getPlugins();
+            for (Plugin plugin : projectPlugins) {
+                if (plugin.getVersion() == null || exclusions.matches(plugin)) {
+                    continue;
+                }
+                if (plugins.putIfAbsent(plugin.getId(), plugin) == null) {
+                    projects.put(plugin.getId(), project);
+                }
+            }
+        }
+        if (plugins.isEmpty()) {
+            return;
+        }
+
+        final boolean readPluginXml = getBoolean(rule, "readPluginXml", false);
+        final String knownPluginIndexFile = getValue(rule, "knownPluginIndex");
+        final KnownPluginIndex knownPluginIndex;
+        try {
+            knownPluginIndex = knownPluginIndexFile != null ? analysis.getKnownPluginIndex(resolveFile(ruleProject, knownPluginIndexFile)) : null;
+        } catch (IOException e) {
+            // the rule reports the unreadable index
+            return;
+        }
+        final String verdictStoreDirectory = getValue(rule, "verdictStoreDirectory");
+        final VerdictStore verdictStore = getBoolean(rule, "storeVerdicts", false)
+                ? VerdictStore.forDirectory(repositorySession, verdictStoreDirectory != null
+                        ? resolveFile(ruleProject, verdictStoreDirectory)
+                        : VerdictStore.getDefaultDirectory(repositorySession))
+                : null;
+
+        final ExecutorService prefetchExecutor = Executors.newFixedThreadPool(Math.min(getThreads(session), plugins.size()), runnable -> {
+            final Thread thread = new Thread(runnable, "non-thread-safe-plugin-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Map.Entry<String, Plugin> entry : plugins.entrySet()) {
+            final PluginService pluginService = analysis.createPluginService(pluginManager, projects.get(entry.getKey()).getRemotePluginRepositories());
+            pluginService.setReadPluginXml(readPluginXml);
+            pluginService.setKnownPluginIndex(knownPluginIndex);
+            pluginService.setVerdictStore(verdictStore);
+            prefetchExecutor.execute(() -> {
+                try {
+                    pluginService.getNonThreadSafeGoals(entry.getValue());
+                } catch (Exception e) {
+                    // failed lookups are not cached, the rule repeats the lookup and reports the failure
+                }
+            });
+        }
+        prefetchExecutor.shutdown();
+        executor = prefetchExecutor;
+    }
+
+    @Override
+    public void afterSessionEnd(MavenSession session) {
+        final ExecutorService prefetchExecutor = executor;
+        if (prefetchExecutor != null) {
+            prefetchExecutor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    boolean awaitPrefetch(long timeout, TimeUnit unit) throws InterruptedException {
+        final ExecutorService prefetchExecutor = executor;
+        return prefetchExecutor == null || prefetchExecutor.awaitTermination(timeout, unit);
+    }
+
+    private static int getThreads(MavenSession session) {
+        final String threads = session.getUserProperties().getProperty(PREFETCH_THREADS_PROPERTY);
+        try {
+            return threads != null ? Math.max(1, Integer.parseInt(threads.trim())) : Math.min(4, Runtime.getRuntime().availableProcessors());
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private static MavenProject findRuleProject(List<MavenProject> projects) {
+        for (MavenProject project : projects) {
+            if (findRuleConfiguration(project) != null) {
+                return project;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return The configuration of the first NonThreadSafePluginRule of the enforcer plugin of the project, or null.
+     */
+    static Xpp3Dom findRuleConfiguration(MavenProject project) {
+        final Plugin enforcerPlugin = project.getBuild().getPluginsAsMap().get(ENFORCER_PLUGIN_KEY);
+        if (enforcerPlugin == null) {
+            return null;
+        }
+
+        final List<Object> configurations = new ArrayList<>();
+        configurations.add(enforcerPlugin.getConfiguration());
+        enforcerPlugin.getExecutions().forEach(execution -> configurations.add(execution.getConfiguration()));
+        for (Object configuration : configurations) {
+            final Xpp3Dom rules = configuration instanceof Xpp3Dom ? ((Xpp3Dom) configuration).getChild("rules") : null;
+            if (rules == null) {
+                continue;
+            }
+            for (Xpp3Dom rule : rules.getChildren()) {
+                if (NonThreadSafePluginRule.class.getName().equals(rule.getAttribute("implementation"))) {
+                    return rule;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static List<Plugin> getExclude(Xpp3Dom rule) {
+        final List<Plugin> exclude = new ArrayList<>(0);
+        final Xpp3Dom excludeList = rule.getChild("exclude");
+        if (excludeList != null) {
+            for (Xpp3Dom entry : excludeList.getChildren()) {
+                final Plugin plugin = new Plugin();
+                plugin.setGroupId(getValue(entry, "groupId"));
+                plugin.setArtifactId(getValue(entry, "artifactId"));
+                plugin.setVersion(getValue(entry, "version"));
+                exclude.add(plugin);
+            }
+        }
+        if (getBoolean(rule, "excludeMavenPlugins", true)) {
+            final Plugin mavenGroupPlugin = new Plugin();
+            mavenGroupPlugin.setGroupId(MAVEN_PLUGINS_GROUP_ID);
+            exclude.add(mavenGroupPlugin);
+        }
+
+        return exclude;
+    }
+
+    /**
+     * Resolves a file of the rule configuration the way maven does, against the base directory of the project.
+     */
+    private static File resolveFile(MavenProject project, String path) {
+        final File file = new File(path);
+        return file.isAbsolute() ? file : new File(project.getBasedir(), path);
+    }
+
+    private static boolean getBoolean(Xpp3Dom rule, String name, boolean defaultValue) {
+        final String value = getValue(rule, name);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+
+    /**
+     * @return The value of the child, or null when it is missing or when it is an expression that only the enforcer plugin can evaluate.
+     */
+    private static String getValue(Xpp3Dom parent, String name) {
+        final Xpp3Dom child = parent.getChild(name);
+        final String value = child != null ? child.getValue() : null;
+        return value != null && !value.trim().isEmpty() && !value.contains("${") ? value.trim() : null;
+    }
+}
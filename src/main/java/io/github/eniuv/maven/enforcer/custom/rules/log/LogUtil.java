@@ -1,10 +1,15 @@
 package io.github.eniuv.maven.enforcer.custom.rules.log;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.logging.Log;
 
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginMetrics;
+import io.github.eniuv.maven.enforcer.custom.rules.reactor.ReactorParallelism;
+
 public class LogUtil {
     public static void logErrorGoalsOfPluginAreNotThreadSafe(Log log, Plugin plugin, List<String> goals) {
         goals.forEach(goal -> logErrorGoalOfPluginIsNotThreadSafe(log, plugin, goal));
@@ -20,6 +25,81 @@ public class LogUtil {
         log.info(logSkipPluginMessage);
     }
 
+    public static void logWarnLookupOfPluginTimedOut(Log log, Plugin plugin) {
+        log.warn(getLookupOfPluginTimedOutMessage(plugin));
+    }
+
+    public static void logErrorLookupOfPluginTimedOut(Log log, Plugin plugin) {
+        log.error(getLookupOfPluginTimedOutMessage(plugin));
+    }
+
+    public static void logInfoMetrics(Log log, PluginMetrics metrics) {
+        final PluginMetrics.Timing slowest = metrics.getSlowestResolution();
+        log.info("NonThreadSafePluginRule: "
+                + (metrics.isResultReused() ? "Reused the result of the plugin set, resolved " : "Resolved ") + metrics.getResolutions().size() + " plugin descriptors"
+                + " in " + TimeUnit.NANOSECONDS.toMillis(metrics.getResolutionNanos()) + " ms"
+                + ", cache hits: " + metrics.getCacheHits()
+                + ", cache misses: " + metrics.getCacheMisses()
+                + ", verdict store hits: " + metrics.getStoreHits()
+                + ", index hits: " + metrics.getIndexHits()
+                + (slowest != null ? ", slowest: \"" + slowest.getPluginId() + "\" " + TimeUnit.NANOSECONDS.toMillis(slowest.getNanos()) + " ms" : "")
+                + ", rule time: " + TimeUnit.NANOSECONDS.toMillis(metrics.getElapsedNanos()) + " ms.");
+    }
+
+    public static void logWarnGoalRequiresDependencyResolution(Log log, Plugin plugin, String goal, String scope, boolean online) {
+        log.warn("DependencyResolutionRule: The Goal: \"" + goal + "\" of Plugin:"
+                + " \"" + plugin.getGroupId()
+                + ":" + plugin.getArtifactId()
+                + ":" + plugin.getVersion()
+                + "\" requires "
+                + (scope != null ? "the resolution of the \"" + scope + "\" dependencies" : "")
+                + (scope != null && online ? " and " : "")
+                + (online ? "online mode" : "")
+                + ".");
+    }
+
+    public static void logWarnGoalForksLifecycle(Log log, Plugin plugin, String goal, String executePhase, String executeGoal, String executeLifecycle) {
+        log.warn("ForkedLifecycleRule: The Goal: \"" + goal + "\" of Plugin:"
+                + " \"" + plugin.getGroupId()
+                + ":" + plugin.getArtifactId()
+                + ":" + plugin.getVersion()
+                + "\" forks "
+                + (executePhase != null ? "the lifecycle up to the phase \"" + executePhase + "\"" : "the goal \"" + executeGoal + "\"")
+                + (executeLifecycle != null ? " of the lifecycle \"" + executeLifecycle + "\"" : "")
+                + ".");
+    }
+
+    public static void logErrorPluginVersionIsNotFixed(Log log, Plugin plugin) {
+        log.error("PluginVersionRule: The Plugin: \"" + plugin.getGroupId()
+                + ":" + plugin.getArtifactId()
+                + (plugin.getVersion() != null ? ":" + plugin.getVersion() + "\" does not have a fixed version." : "\" does not have a version."));
+    }
+
+    public static void logInfoRemoteMetadataLookups(Log log, int lookups, int modules) {
+        log.info("PluginVersionRule: Plugins without a fixed version cause " + lookups + " remote metadata lookups in " + modules + " modules of the reactor.");
+    }
+
+    public static void logInfoReactorParallelism(Log log, ReactorParallelism parallelism) {
+        log.info("ReactorParallelismRule: " + parallelism.getModules() + " modules"
+                + ", critical path: " + parallelism.getCriticalPath() + " modules"
+                + ", maximum width: " + parallelism.getMaximumWidth() + " modules"
+                + ", modules with non thread safe goals: " + parallelism.getNonThreadSafeModules() + ".");
+        log.info("ReactorParallelismRule: Recommended -T " + parallelism.getRecommendedThreads()
+                + ", theoretical speedup: " + formatSpeedup(parallelism.getSpeedup()) + ".");
+    }
+
+    public static String formatSpeedup(double speedup) {
+        return String.format(Locale.ROOT, "%.2fx", speedup);
+    }
+
+    private static String getLookupOfPluginTimedOutMessage(Plugin plugin) {
+        return "NonThreadSafePluginRule: The lookup of Plugin:"
+                + " \"" + plugin.getGroupId()
+                + ":" + plugin.getArtifactId()
+                + ":" + plugin.getVersion()
+                + "\" timed out, the thread safety of its goals is unknown.";
+    }
+
     private static void logErrorGoalOfPluginIsNotThreadSafe(Log log, Plugin plugin, String goal) {
         log.error("The Goal: \"" + goal + "\" of Plugin:"
                 + " \"" + plugin.getGroupId()
@@ -0,0 +1,50 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+/**
+ * A pattern where "*" matches any sequence of characters, for example "org.codehaus.*" or "*-gen-plugin".
+ * The pattern is split once, matching does not allocate.
+ */
+class Glob {
+    static final char WILDCARD = '*';
+
+    private final String[] parts;
+
+    Glob(String pattern) {
+        this.parts = pattern.split("\\*", -1);
+    }
+
+    static boolean isGlob(String value) {
+        return value != null && value.indexOf(WILDCARD) >= 0;
+    }
+
+    /**
+     * @return True if the pattern is a prefix followed by a single wildcard, for example "org.codehaus.*".
+     */
+    static boolean isPrefix(String pattern) {
+        return pattern.indexOf(WILDCARD) == pattern.length() - 1;
+    }
+
+    boolean matches(String value) {
+        if (parts.length == 1) {
+            return parts[0].equals(value);
+        }
+
+        final String first = parts[0];
+        final String last = parts[parts.length - 1];
+        if (value.length() < first.length() + last.length() || !value.startsWith(first) || !value.endsWith(last)) {
+            return false;
+        }
+
+        int position = first.length();
+        final int end = value.length() - last.length();
+        for (int i = 1; i < parts.length - 1; i++) {
+            final int found = value.indexOf(parts[i], position);
+            if (found < 0 || found + parts[i].length() > end) {
+                return false;
+            }
+            position = found + parts[i].length();
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Read only index of the thread safety of the goals of well known plugins, it is read from a file
+ * so released plugins can be checked without resolving them.
+ * The verdicts of the index are trusted over the resolution of the plugin, so it is only used when it is configured.
+ *
+ * The index is a binary file: a header, the sorted plugin ids with the offsets of their goals and the goals.
+ * <pre>
+ * int magic, int version, int count
+ * count * (utf pluginId), count * (int offset)
+ * for every plugin: short goalCount, goalCount * (utf goal, boolean threadSafe)
+ * </pre>
+ * The plugin ids are searched with a binary search, the goals are decoded only for the plugins that are looked up.
+ *
+ * The index is generated from a local repository by KnownPluginIndexGenerator, from the test sources, with the "plugin-index" profile.
+ */
+public class KnownPluginIndex {
+    private static final int MAGIC = 0x4e545349;
+    private static final int VERSION = 1;
+
+    private final String[] pluginIds;
+    private final int[] offsets;
+    private final byte[] goals;
+
+    private KnownPluginIndex(String[] pluginIds, int[] offsets, byte[] goals) {
+        this.pluginIds = pluginIds;
+        this.offsets = offsets;
+        this.goals = goals;
+    }
+
+    /**
+     * Reads an index file.
+     *
+     * @param file The index file.
+     * @return The index.
+     */
+    public static KnownPluginIndex read(File file) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            return read(inputStream);
+        }
+    }
+
+    public static KnownPluginIndex read(InputStream inputStream) throws IOException {
+        final DataInputStream input = new DataInputStream(inputStream);
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException("Not a plugin index of version " + VERSION + ".");
+        }
+
+        final int count = input.readInt();
+        final String[] pluginIds = new String[count];
+        for (int i = 0; i < count; i++) {
+            pluginIds[i] = input.readUTF();
+        }
+        final int[] offsets = new int[count];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = input.readInt();
+        }
+
+        final ByteArrayOutputStream goals = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[8192];
+        for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+            goals.write(buffer, 0, read);
+        }
+
+        return new KnownPluginIndex(pluginIds, offsets, goals.toByteArray());
+    }
+
+    /**
+     * Writes an index.
+     *
+     * @param plugins      The thread safety of the goals by plugin id: "groupId:artifactId:version".
+     * @param outputStream The output.
+     */
+    public static void write(Map<String, Map<String, Boolean>> plugins, OutputStream outputStream) throws IOException {
+        final Map<String, Map<String, Boolean>> sortedPlugins = new TreeMap<>(plugins);
+
+        final ByteArrayOutputStream goals = new ByteArrayOutputStream();
+        final DataOutputStream goalsOutput = new DataOutputStream(goals);
+        final int[] offsets = new int[sortedPlugins.size()];
+        int i = 0;
+        for (Map<String, Boolean> threadSafeGoals : sortedPlugins.values()) {
+            offsets[i++] = goalsOutput.size();
+            goalsOutput.writeShort(threadSafeGoals.size());
+            for (Map.Entry<String, Boolean> threadSafeGoal : threadSafeGoals.entrySet()) {
+                goalsOutput.writeUTF(threadSafeGoal.getKey());
+                goalsOutput.writeBoolean(threadSafeGoal.getValue());
+            }
+        }
+
+        final DataOutputStream output = new DataOutputStream(outputStream);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(sortedPlugins.size());
+        for (String pluginId : sortedPlugins.keySet()) {
+            output.writeUTF(pluginId);
+        }
+        for (int offset : offsets) {
+            output.writeInt(offset);
+        }
+        goals.writeTo(output);
+        output.flush();
+    }
+
+    /**
+     * Returns the thread safety of all the goals of a plugin.
+     *
+     * @param pluginId The id of the plugin: "groupId:artifactId:version".
+     * @return The thread safety of every goal or null if the plugin is not in the index.
+     */
+    public Map<String, Boolean> get(String pluginId) {
+        final int i = Arrays.binarySearch(pluginIds, pluginId);
+        if (i < 0) {
+            return null;
+        }
+
+        try {
+            final DataInputStream input = new DataInputStream(new ByteArrayInputStream(goals, offsets[i], goals.length - offsets[i]));
+            final int goalCount = input.readUnsignedShort();
+            final Map<String, Boolean> threadSafeGoals = new LinkedHashMap<>(goalCount * 2);
+            for (int goal = 0; goal < goalCount; goal++) {
+                threadSafeGoals.put(input.readUTF(), input.readBoolean());
+            }
+            return Collections.unmodifiableMap(threadSafeGoals);
+        } catch (IOException e) {
+            // the offsets point inside the array, it is a corrupt index
+            return null;
+        }
+    }
+
+    public int size() {
+        return pluginIds.length;
+    }
+}
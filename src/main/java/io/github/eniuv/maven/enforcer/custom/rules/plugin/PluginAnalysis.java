@@ -0,0 +1,200 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.lifecycle.LifeCyclePluginAnalyzer;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import io.github.eniuv.maven.enforcer.custom.rules.session.SessionStore;
+
+/**
+ * The state of the plugin analysis that is shared by all the rules of this library and all the modules of a build:
+ * the caches of the plugin descriptors, the compiled exclusion lists, the effective plugins of the modules
+ * and the indexes of well known plugins.
+ *
+ * There is one instance per maven session, kept in the repository session data, so the state is warmed by the first
+ * module and dropped with the session instead of living in static fields.
+ */
+public class PluginAnalysis {
+    private final RepositorySystemSession repositorySession;
+    private final PluginCache<Map<String, Boolean>> threadSafeGoals = new PluginCache<>();
+    private final PluginCache<Map<String, MojoDescriptor>> mojoDescriptors = new PluginCache<>();
+    private final Map<String, PluginExclusions> exclusions = new ConcurrentHashMap<>();
+    private final Map<String, Set<Plugin>> lifecyclePlugins = new ConcurrentHashMap<>();
+    private final Map<String, List<Plugin>> effectivePlugins = new ConcurrentHashMap<>();
+    private final Map<File, KnownPluginIndex> knownPluginIndexes = new ConcurrentHashMap<>();
+
+    PluginAnalysis(RepositorySystemSession repositorySession) {
+        this.repositorySession = repositorySession;
+    }
+
+    /**
+     * Returns the analysis of the session.
+     *
+     * @param repositorySession The repository session of the build.
+     * @return The shared analysis or a new analysis if the session can not hold data.
+     */
+    public static PluginAnalysis forSession(RepositorySystemSession repositorySession) {
+        return SessionStore.get(repositorySession, PluginAnalysis.class, "analysis", () -> new PluginAnalysis(repositorySession));
+    }
+
+    /**
+     * Creates a plugin service that resolves plugins through the caches of the session.
+     * The service itself is cheap, every execution creates its own so its options are not shared.
+     *
+     * @param pluginBuildManager The plugin manager of the build.
+     * @param repositories       The plugin repositories of the module.
+     * @return The plugin service.
+     */
+    public PluginService createPluginService(BuildPluginManager pluginBuildManager, List<RemoteRepository> repositories) {
+        return new PluginService(pluginBuildManager, repositories, repositorySession);
+    }
+
+    /**
+     * Returns the compiled exclusion list that is shared by all the executions with the same exclusion list.
+     *
+     * @param exclude The exclusion list.
+     * @return The compiled exclusion list.
+     */
+    public PluginExclusions getExclusions(List<Plugin> exclude) throws InvalidVersionSpecificationException {
+        final StringBuilder name = new StringBuilder();
+        for (Plugin plugin : exclude) {
+            name.append(plugin.getGroupId()).append(':')
+                    .append(plugin.getArtifactId()).append(':')
+                    .append(plugin.getVersion()).append('\n');
+        }
+
+        PluginExclusions compiled = exclusions.get(name.toString());
+        if (compiled == null) {
+            compiled = PluginExclusions.compile(exclude);
+            final PluginExclusions previous = exclusions.putIfAbsent(name.toString(), compiled);
+            if (previous != null) {
+                compiled = previous;
+            }
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Returns the index of well known plugins of the file, every file is read once per session.
+     *
+     * @param file The index file.
+     * @return The index.
+     */
+    public KnownPluginIndex getKnownPluginIndex(File file) throws IOException {
+        KnownPluginIndex index = knownPluginIndexes.get(file);
+        if (index == null) {
+            index = KnownPluginIndex.read(file);
+            final KnownPluginIndex previous = knownPluginIndexes.putIfAbsent(file, index);
+            if (previous != null) {
+                index = previous;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the build plugins of the module with the goals its packaging binds to the lifecycles by default,
+     * like compiler:compile or jar:jar, added to the goals of their executions.
+     * Plugins that are only bound by the packaging get the version of the plugin management, if there is one.
+     *
+     * The result is shared by all the modules with the same packaging, the same build plugins
+     * and the same managed versions of the lifecycle plugins, so a large reactor computes it only a few times.
+     *
+     * @param project                 The module.
+     * @param lifecyclePluginAnalyzer Gives the plugins bound by a packaging.
+     * @return The effective plugins of the module.
+     */
+    public List<Plugin> getEffectivePlugins(MavenProject project, LifeCyclePluginAnalyzer lifecyclePluginAnalyzer) {
+        final List<Plugin> buildPlugins = project.getBuild().getPlugins();
+        final String packaging = project.getPackaging();
+        if (packaging == null) {
+            return buildPlugins;
+        }
+
+        final Set<Plugin> boundPlugins = lifecyclePlugins.computeIfAbsent(packaging, key -> {
+            final Set<Plugin> plugins = lifecyclePluginAnalyzer.getPluginsBoundByDefaultToAllLifecycles(key);
+            return plugins != null ? plugins : Collections.<Plugin>emptySet();
+        });
+        if (boundPlugins.isEmpty()) {
+            return buildPlugins;
+        }
+
+        final Map<String, Plugin> managedPlugins = project.getPluginManagement() != null
+                ? project.getPluginManagement().getPluginsAsMap()
+                : Collections.<String, Plugin>emptyMap();
+
+        final StringBuilder key = new StringBuilder(packaging).append('\n');
+        for (Plugin plugin : buildPlugins) {
+            key.append(plugin.getId()).append(' ').append(PluginService.getGoals(plugin)).append('\n');
+        }
+        for (Plugin plugin : boundPlugins) {
+            final Plugin managedPlugin = managedPlugins.get(plugin.getKey());
+            key.append(plugin.getKey()).append(' ').append(managedPlugin != null ? managedPlugin.getVersion() : null).append('\n');
+        }
+
+        return effectivePlugins.computeIfAbsent(key.toString(), ignored -> mergeBoundPlugins(buildPlugins, boundPlugins, managedPlugins));
+    }
+
+    private static List<Plugin> mergeBoundPlugins(List<Plugin> buildPlugins, Set<Plugin> boundPlugins, Map<String, Plugin> managedPlugins) {
+        final Map<String, Plugin> plugins = new LinkedHashMap<>();
+        for (Plugin plugin : buildPlugins) {
+            plugins.put(plugin.getKey(), plugin);
+        }
+
+        for (Plugin boundPlugin : boundPlugins) {
+            final Set<String> goals = new LinkedHashSet<>(PluginService.getGoals(boundPlugin));
+            final Plugin declaredPlugin = plugins.get(boundPlugin.getKey());
+            final Plugin effectivePlugin;
+            if (declaredPlugin != null) {
+                // the effective model of maven already binds the lifecycle goals, this only adds the ones it misses
+                goals.removeAll(PluginService.getGoals(declaredPlugin));
+                effectivePlugin = declaredPlugin.clone();
+            } else {
+                final Plugin managedPlugin = managedPlugins.get(boundPlugin.getKey());
+                effectivePlugin = boundPlugin.clone();
+                effectivePlugin.setExecutions(new ArrayList<>(1));
+                if (managedPlugin != null && managedPlugin.getVersion() != null) {
+                    effectivePlugin.setVersion(managedPlugin.getVersion());
+                }
+            }
+            if (goals.isEmpty()) {
+                continue;
+            }
+
+            final PluginExecution execution = new PluginExecution();
+            execution.setId("default-lifecycle");
+            execution.setGoals(new ArrayList<>(goals));
+            effectivePlugin.addExecution(execution);
+            plugins.put(boundPlugin.getKey(), effectivePlugin);
+        }
+
+        return Collections.unmodifiableList(new ArrayList<>(plugins.values()));
+    }
+
+    public PluginCache<Map<String, Boolean>> getThreadSafeGoalsCache() {
+        return threadSafeGoals;
+    }
+
+    public PluginCache<Map<String, MojoDescriptor>> getMojoDescriptorCache() {
+        return mojoDescriptors;
+    }
+}
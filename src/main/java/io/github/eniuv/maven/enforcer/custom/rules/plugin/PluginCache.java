@@ -0,0 +1,73 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.InvalidPluginDescriptorException;
+import org.apache.maven.plugin.MojoNotFoundException;
+import org.apache.maven.plugin.PluginDescriptorParsingException;
+import org.apache.maven.plugin.PluginNotFoundException;
+import org.apache.maven.plugin.PluginResolutionException;
+
+/**
+ * Cache for the results of plugin lookups.
+ * Every key is looked up only once, concurrent requests for the same key wait for the lookup that is in progress.
+ * Failed lookups are not cached so they can be retried.
+ *
+ * @param <V> The type of the cached values.
+ */
+public class PluginCache<V> {
+    private final ConcurrentMap<String, FutureTask<V>> entries = new ConcurrentHashMap<>();
+
+    public V get(Plugin plugin, String key, Lookup<V> lookup)
+            throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+
+        FutureTask<V> task = entries.get(key);
+        if (task == null) {
+            final FutureTask<V> newTask = new FutureTask<>(lookup::lookup);
+            task = entries.putIfAbsent(key, newTask);
+            if (task == null) {
+                task = newTask;
+                task.run();
+            }
+        }
+
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PluginResolutionException(plugin, e);
+        } catch (ExecutionException e) {
+            entries.remove(key, task);
+            throw PluginExceptions.rethrow(plugin, e.getCause());
+        }
+    }
+
+    /**
+     * Replaces the value of the key, the next lookups of the key return this value.
+     */
+    public void put(String key, V value) {
+        final FutureTask<V> task = new FutureTask<>(() -> value);
+        task.run();
+        entries.put(key, task);
+    }
+
+    /**
+     * Removes the value of the key, the next lookup of the key runs again.
+     */
+    public void remove(String key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @FunctionalInterface
+    public interface Lookup<V> {
+        V lookup() throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException;
+    }
+}
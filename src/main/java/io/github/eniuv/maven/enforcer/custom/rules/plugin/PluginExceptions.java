@@ -0,0 +1,47 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.InvalidPluginDescriptorException;
+import org.apache.maven.plugin.MojoNotFoundException;
+import org.apache.maven.plugin.PluginDescriptorParsingException;
+import org.apache.maven.plugin.PluginNotFoundException;
+import org.apache.maven.plugin.PluginResolutionException;
+
+public class PluginExceptions {
+
+    /**
+     * Throws the cause of a failed plugin lookup that was executed by another thread.
+     * Plugin exceptions and unchecked exceptions are thrown as they are, any other exception is wrapped.
+     *
+     * @param plugin The plugin of the lookup.
+     * @param cause  The cause of the failure.
+     * @return Never returns normally, the return type allows callers to write "throw rethrow(...)".
+     */
+    public static PluginResolutionException rethrow(Plugin plugin, Throwable cause)
+            throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+
+        if (cause instanceof InvalidPluginDescriptorException) {
+            throw (InvalidPluginDescriptorException) cause;
+        }
+        if (cause instanceof MojoNotFoundException) {
+            throw (MojoNotFoundException) cause;
+        }
+        if (cause instanceof PluginResolutionException) {
+            throw (PluginResolutionException) cause;
+        }
+        if (cause instanceof PluginDescriptorParsingException) {
+            throw (PluginDescriptorParsingException) cause;
+        }
+        if (cause instanceof PluginNotFoundException) {
+            throw (PluginNotFoundException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+
+        throw new PluginResolutionException(plugin, cause);
+    }
+}
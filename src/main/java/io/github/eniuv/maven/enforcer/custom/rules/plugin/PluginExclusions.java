@@ -0,0 +1,237 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.Plugin;
+
+/**
+ * An exclusion list compiled into an index, it matches plugins the same way as
+ * {@link PluginMatcher#doesPluginMatchInList(Plugin, List)} without scanning the whole list.
+ *
+ * Exact group ids are looked up in a hash map and group ids that end with "*", for example "org.codehaus.*",
+ * are looked up in a prefix tree. Inside a group, exact artifact ids are looked up in a hash map as well.
+ * Only patterns that can not be indexed, like "*-gen-plugin", are matched one by one.
+ * Version ranges, like "[2.0,3.0)", are parsed when the list is compiled and the parsed plugin versions are cached.
+ */
+public class PluginExclusions {
+    private final List<Plugin> exclude;
+
+    private final Map<String, Group> groups = new HashMap<>();
+    private final Node groupPrefixes = new Node();
+    private final List<GroupPattern> groupPatterns = new ArrayList<>(0);
+    private Group anyGroup;
+
+    private final Map<String, ArtifactVersion> parsedVersions = new ConcurrentHashMap<>();
+
+    private PluginExclusions(List<Plugin> exclude) throws InvalidVersionSpecificationException {
+        this.exclude = Collections.unmodifiableList(new ArrayList<>(exclude));
+
+        for (Plugin plugin : this.exclude) {
+            getGroup(plugin.getGroupId()).add(plugin.getArtifactId(), plugin.getVersion());
+        }
+    }
+
+    public static PluginExclusions compile(List<Plugin> exclude) throws InvalidVersionSpecificationException {
+        return new PluginExclusions(exclude);
+    }
+
+    public List<Plugin> getExclude() {
+        return exclude;
+    }
+
+    public boolean matches(Plugin plugin) {
+        final String groupId = plugin.getGroupId();
+        final String artifactId = plugin.getArtifactId();
+        final String version = plugin.getVersion();
+
+        // a plugin with missing values matches almost anything, this is rare enough to scan the list
+        if (groupId == null || artifactId == null || version == null
+                || Glob.isGlob(groupId) || Glob.isGlob(artifactId) || Glob.isGlob(version)) {
+            return PluginMatcher.doesPluginMatchInList(plugin, exclude);
+        }
+
+        if (anyGroup != null && anyGroup.matches(artifactId, version)) {
+            return true;
+        }
+
+        final Group group = groups.get(groupId);
+        if (group != null && group.matches(artifactId, version)) {
+            return true;
+        }
+
+        Node node = groupPrefixes;
+        for (int i = 0; node != null; i++) {
+            if (node.group != null && node.group.matches(artifactId, version)) {
+                return true;
+            }
+            node = i < groupId.length() ? node.children.get(groupId.charAt(i)) : null;
+        }
+
+        for (GroupPattern groupPattern : groupPatterns) {
+            if (groupPattern.glob.matches(groupId) && groupPattern.group.matches(artifactId, version)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private ArtifactVersion parseVersion(String version) {
+        return parsedVersions.computeIfAbsent(version, DefaultArtifactVersion::new);
+    }
+
+    private Group getGroup(String groupId) {
+        if (groupId == null || groupId.equals(String.valueOf(Glob.WILDCARD))) {
+            if (anyGroup == null) {
+                anyGroup = new Group();
+            }
+            return anyGroup;
+        }
+
+        if (!Glob.isGlob(groupId)) {
+            return groups.computeIfAbsent(groupId, key -> new Group());
+        }
+
+        if (Glob.isPrefix(groupId)) {
+            Node node = groupPrefixes;
+            for (int i = 0; i < groupId.length() - 1; i++) {
+                node = node.children.computeIfAbsent(groupId.charAt(i), key -> new Node());
+            }
+            if (node.group == null) {
+                node.group = new Group();
+            }
+            return node.group;
+        }
+
+        for (GroupPattern groupPattern : groupPatterns) {
+            if (groupPattern.pattern.equals(groupId)) {
+                return groupPattern.group;
+            }
+        }
+        final GroupPattern groupPattern = new GroupPattern(groupId);
+        groupPatterns.add(groupPattern);
+        return groupPattern.group;
+    }
+
+    private static class Node {
+        // characters are boxed from the Character cache, looking up ascii group ids does not allocate
+        private final Map<Character, Node> children = new HashMap<>();
+        private Group group;
+    }
+
+    private class GroupPattern {
+        private final String pattern;
+        private final Glob glob;
+        private final Group group = new Group();
+
+        private GroupPattern(String pattern) {
+            this.pattern = pattern;
+            this.glob = new Glob(pattern);
+        }
+    }
+
+    /**
+     * The artifacts and versions excluded inside a group.
+     */
+    private class Group {
+        private final Map<String, Versions> artifacts = new HashMap<>();
+        private final List<ArtifactPattern> artifactPatterns = new ArrayList<>(0);
+
+        private void add(String artifactId, String version) throws InvalidVersionSpecificationException {
+            if (artifactId != null && !Glob.isGlob(artifactId)) {
+                artifacts.computeIfAbsent(artifactId, key -> new Versions()).add(version);
+                return;
+            }
+
+            final String pattern = artifactId != null ? artifactId : String.valueOf(Glob.WILDCARD);
+            for (ArtifactPattern artifactPattern : artifactPatterns) {
+                if (artifactPattern.pattern.equals(pattern)) {
+                    artifactPattern.versions.add(version);
+                    return;
+                }
+            }
+            final ArtifactPattern artifactPattern = new ArtifactPattern(pattern);
+            artifactPattern.versions.add(version);
+            artifactPatterns.add(artifactPattern);
+        }
+
+        private boolean matches(String artifactId, String version) {
+            final Versions versions = artifacts.get(artifactId);
+            if (versions != null && versions.matches(version)) {
+                return true;
+            }
+
+            for (ArtifactPattern artifactPattern : artifactPatterns) {
+                if (artifactPattern.glob.matches(artifactId) && artifactPattern.versions.matches(version)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    private class ArtifactPattern {
+        private final String pattern;
+        private final Glob glob;
+        private final Versions versions = new Versions();
+
+        private ArtifactPattern(String pattern) {
+            this.pattern = pattern;
+            this.glob = new Glob(pattern);
+        }
+    }
+
+    private class Versions {
+        private boolean anyVersion;
+        private final Set<String> versions = new HashSet<>();
+        private final List<Glob> versionPatterns = new ArrayList<>(0);
+        private final List<VersionRange> versionRanges = new ArrayList<>(0);
+
+        private void add(String version) throws InvalidVersionSpecificationException {
+            if (version == null || version.equals(String.valueOf(Glob.WILDCARD))) {
+                anyVersion = true;
+            } else if (PluginMatcher.isVersionRange(version)) {
+                versionRanges.add(VersionRange.createFromVersionSpec(version));
+            } else if (Glob.isGlob(version)) {
+                versionPatterns.add(new Glob(version));
+            } else {
+                versions.add(version);
+            }
+        }
+
+        private boolean matches(String version) {
+            if (anyVersion || versions.contains(version)) {
+                return true;
+            }
+
+            for (Glob versionPattern : versionPatterns) {
+                if (versionPattern.matches(version)) {
+                    return true;
+                }
+            }
+
+            if (!versionRanges.isEmpty()) {
+                final ArtifactVersion artifactVersion = parseVersion(version);
+                for (VersionRange versionRange : versionRanges) {
+                    if (versionRange.containsVersion(artifactVersion)) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+    }
+}
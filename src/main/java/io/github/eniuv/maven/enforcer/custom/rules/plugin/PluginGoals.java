@@ -0,0 +1,26 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import java.util.List;
+
+import org.apache.maven.model.Plugin;
+
+/**
+ * A plugin together with some of its goals, for example the goals that are not thread safe.
+ */
+public class PluginGoals {
+    private final Plugin plugin;
+    private final List<String> goals;
+
+    public PluginGoals(Plugin plugin, List<String> goals) {
+        this.plugin = plugin;
+        this.goals = goals;
+    }
+
+    public Plugin getPlugin() {
+        return plugin;
+    }
+
+    public List<String> getGoals() {
+        return goals;
+    }
+}
@@ -3,6 +3,9 @@ package io.github.eniuv.maven.enforcer.custom.rules.plugin;
 import java.util.List;
 import java.util.Optional;
 
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.model.Plugin;
 
 public class PluginMatcher {
@@ -18,39 +21,74 @@ public class PluginMatcher {
     /**
      * This method will test if a plugin is match of another plugin.
      * If the groupId or artifactId or version are present and equal then we have a match.
+     * A value that contains "*" is a pattern where "*" matches any sequence of characters.
+     * A version that starts with "[" or "(" is a version range, for example "[2.0,3.0)".
      * Match example:
      * - "com.groupId.one:artifactId-one:1.1.1" will match with "com.groupId.one:artifactId-one:null"
      * - "com.groupId.one:artifactId-one:1.1.1" will match with "com.groupId.one:null:1.1.1"
      * - "com.groupId.one:artifactId-one:1.1.1" will match with "com.groupId.one:null:null"
+     * - "com.groupId.one:artifactId-one:1.1.1" will match with "com.groupId.*:null:null"
+     * - "com.groupId.one:artifactId-one:1.1.1" will match with "com.*:*-one:null"
+     * - "com.groupId.one:artifactId-one:1.1.1" will match with "com.groupId.one:artifactId-one:[1.0,2.0)"
      * NOT match example:
      * - "com.groupId.one:artifactId-one:1.1.1" will NOT match with "com.groupId.one:artifactId-two:null"
      * - "com.groupId.one:artifactId-one:1.1.1" will NOT match with "com.groupId.one:null:1.1.2"
      * - "com.groupId.one:artifactId-one:1.1.1" will NOT match with "com.groupId.two:artifactId-one:1.1.1"
+     * - "com.groupId.one:artifactId-one:1.1.1" will NOT match with "org.*:null:null"
+     * - "com.groupId.one:artifactId-one:1.1.1" will NOT match with "com.groupId.one:artifactId-one:[2.0,)"
      *
      * @param firstPlugin  The first plugin.
      * @param secondPlugin The second plugin.
      * @return True if there is a match and false otherwise.
      */
     public static boolean isPluginMatchFor(Plugin firstPlugin, Plugin secondPlugin) {
-        if (firstPlugin.getGroupId() != null
-                && secondPlugin.getGroupId() != null
-                && !firstPlugin.getGroupId().equals(secondPlugin.getGroupId())) {
+        if (!isValueMatchFor(firstPlugin.getGroupId(), secondPlugin.getGroupId())) {
             return false;
         }
 
-        if (firstPlugin.getArtifactId() != null
-                && secondPlugin.getArtifactId() != null
-                && !firstPlugin.getArtifactId().equals(secondPlugin.getArtifactId())) {
+        if (!isValueMatchFor(firstPlugin.getArtifactId(), secondPlugin.getArtifactId())) {
             return false;
         }
 
-        if (firstPlugin.getVersion() != null
-                && secondPlugin.getVersion() != null
-                && !firstPlugin.getVersion().equals(secondPlugin.getVersion())) {
+        if (!isVersionMatchFor(firstPlugin.getVersion(), secondPlugin.getVersion())) {
             return false;
         }
 
         return true;
     }
 
+    public static boolean isVersionRange(String version) {
+        return version != null && (version.startsWith("[") || version.startsWith("("));
+    }
+
+    private static boolean isVersionMatchFor(String firstVersion, String secondVersion) {
+        if (firstVersion != null && secondVersion != null && isVersionRange(firstVersion) != isVersionRange(secondVersion)) {
+            final String version = isVersionRange(firstVersion) ? secondVersion : firstVersion;
+            final String versionRange = isVersionRange(firstVersion) ? firstVersion : secondVersion;
+            try {
+                return VersionRange.createFromVersionSpec(versionRange).containsVersion(new DefaultArtifactVersion(version));
+            } catch (InvalidVersionSpecificationException e) {
+                return false;
+            }
+        }
+
+        return isValueMatchFor(firstVersion, secondVersion);
+    }
+
+    private static boolean isValueMatchFor(String firstValue, String secondValue) {
+        if (firstValue == null || secondValue == null || firstValue.equals(secondValue)) {
+            return true;
+        }
+
+        if (Glob.isGlob(secondValue)) {
+            return new Glob(secondValue).matches(firstValue);
+        }
+
+        if (Glob.isGlob(firstValue)) {
+            return new Glob(firstValue).matches(secondValue);
+        }
+
+        return false;
+    }
+
 }
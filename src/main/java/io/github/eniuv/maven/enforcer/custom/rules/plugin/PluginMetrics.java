@@ -0,0 +1,141 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.maven.model.Plugin;
+
+import io.github.eniuv.maven.enforcer.custom.rules.report.JsonWriter;
+
+/**
+ * Counters and timings of one rule execution.
+ * The counters can be updated from many threads, they are only read at the end of the execution.
+ */
+public class PluginMetrics {
+    private final long startNanos = System.nanoTime();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder storeHits = new LongAdder();
+    private final LongAdder indexHits = new LongAdder();
+    private final AtomicBoolean resultReused = new AtomicBoolean();
+    private final ConcurrentLinkedQueue<Timing> resolutions = new ConcurrentLinkedQueue<>();
+
+    public void recordCacheHit() {
+        cacheHits.increment();
+    }
+
+    public void recordCacheMiss() {
+        cacheMisses.increment();
+    }
+
+    public void recordStoreHit() {
+        storeHits.increment();
+    }
+
+    public void recordIndexHit() {
+        indexHits.increment();
+    }
+
+    public void recordResultReused() {
+        resultReused.set(true);
+    }
+
+    public void recordResolution(Plugin plugin, long nanos) {
+        resolutions.add(new Timing(plugin.getId(), nanos));
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public long getStoreHits() {
+        return storeHits.sum();
+    }
+
+    public long getIndexHits() {
+        return indexHits.sum();
+    }
+
+    public boolean isResultReused() {
+        return resultReused.get();
+    }
+
+    public List<Timing> getResolutions() {
+        return new ArrayList<>(resolutions);
+    }
+
+    public long getResolutionNanos() {
+        long nanos = 0;
+        for (Timing timing : resolutions) {
+            nanos += timing.getNanos();
+        }
+
+        return nanos;
+    }
+
+    public Timing getSlowestResolution() {
+        Timing slowest = null;
+        for (Timing timing : resolutions) {
+            if (slowest == null || timing.getNanos() > slowest.getNanos()) {
+                slowest = timing;
+            }
+        }
+
+        return slowest;
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public String toJson(String module) {
+        final StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"module\": ").append(JsonWriter.quote(module)).append(",\n");
+        json.append("  \"ruleTimeMicros\": ").append(TimeUnit.NANOSECONDS.toMicros(getElapsedNanos())).append(",\n");
+        json.append("  \"resultReused\": ").append(isResultReused()).append(",\n");
+        json.append("  \"descriptorsResolved\": ").append(resolutions.size()).append(",\n");
+        json.append("  \"descriptorTimeMicros\": ").append(TimeUnit.NANOSECONDS.toMicros(getResolutionNanos())).append(",\n");
+        json.append("  \"cacheHits\": ").append(getCacheHits()).append(",\n");
+        json.append("  \"cacheMisses\": ").append(getCacheMisses()).append(",\n");
+        json.append("  \"storeHits\": ").append(getStoreHits()).append(",\n");
+        json.append("  \"indexHits\": ").append(getIndexHits()).append(",\n");
+        json.append("  \"resolutions\": [");
+        String separator = "\n";
+        for (Timing timing : resolutions) {
+            json.append(separator).append("    {\"plugin\": ").append(JsonWriter.quote(timing.getPluginId()))
+                    .append(", \"timeMicros\": ").append(TimeUnit.NANOSECONDS.toMicros(timing.getNanos())).append("}");
+            separator = ",\n";
+        }
+        json.append(resolutions.isEmpty() ? "]\n" : "\n  ]\n");
+        json.append("}\n");
+
+        return json.toString();
+    }
+
+    public static class Timing {
+        private final String pluginId;
+        private final long nanos;
+
+        Timing(String pluginId, long nanos) {
+            this.pluginId = pluginId;
+            this.nanos = nanos;
+        }
+
+        public String getPluginId() {
+            return pluginId;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
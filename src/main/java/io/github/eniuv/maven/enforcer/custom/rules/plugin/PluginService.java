@@ -1,7 +1,13 @@
 package io.github.eniuv.maven.enforcer.custom.rules.plugin;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.maven.model.Plugin;
 import org.apache.maven.model.PluginExecution;
@@ -11,7 +17,9 @@ import org.apache.maven.plugin.MojoNotFoundException;
 import org.apache.maven.plugin.PluginDescriptorParsingException;
 import org.apache.maven.plugin.PluginNotFoundException;
 import org.apache.maven.plugin.PluginResolutionException;
+import org.apache.maven.plugin.descriptor.DuplicateMojoDescriptorException;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.RemoteRepository;
 
@@ -19,14 +27,60 @@ public class PluginService {
     private BuildPluginManager pluginBuildManager;
     private List<RemoteRepository> repositories;
     private RepositorySystemSession repositorySession;
+    private PluginCache<Map<String, Boolean>> threadSafeCache;
+    private PluginCache<Map<String, MojoDescriptor>> mojoDescriptorCache;
+    private VerdictStore verdictStore;
+    private PluginMetrics metrics;
+    private PluginXmlReader pluginXmlReader;
+    private KnownPluginIndex knownPluginIndex;
 
     private PluginService() {
     }
 
     public PluginService(BuildPluginManager pluginBuildManager, List<RemoteRepository> repositories, RepositorySystemSession repositorySession) {
+        final PluginAnalysis analysis = PluginAnalysis.forSession(repositorySession);
         this.pluginBuildManager = pluginBuildManager;
         this.repositories = repositories;
         this.repositorySession = repositorySession;
+        this.threadSafeCache = analysis.getThreadSafeGoalsCache();
+        this.mojoDescriptorCache = analysis.getMojoDescriptorCache();
+    }
+
+    /**
+     * Enables the persistent store for the thread safety of the goals.
+     *
+     * @param verdictStore The store or null to disable it.
+     */
+    public void setVerdictStore(VerdictStore verdictStore) {
+        this.verdictStore = verdictStore;
+    }
+
+    /**
+     * Enables the instrumentation of the descriptor resolution.
+     *
+     * @param metrics The metrics to update or null to disable them.
+     */
+    public void setMetrics(PluginMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Enables the index of well known plugins, it is consulted before any plugin is resolved.
+     *
+     * @param knownPluginIndex The index or null to disable it.
+     */
+    public void setKnownPluginIndex(KnownPluginIndex knownPluginIndex) {
+        this.knownPluginIndex = knownPluginIndex;
+    }
+
+    /**
+     * Enables reading the plugin descriptors straight from the plugin jars of the local repository,
+     * plugins that can not be read this way are still loaded by maven.
+     *
+     * @param readPluginXml True to read the plugin descriptors from the local repository.
+     */
+    public void setReadPluginXml(boolean readPluginXml) {
+        this.pluginXmlReader = readPluginXml ? new PluginXmlReader(repositorySession) : null;
     }
 
     public List<String> getNonThreadSafeGoals(Plugin plugin)
@@ -34,9 +88,25 @@ public class PluginService {
 
         List<String> nonThreadSafeGoals = new ArrayList<>(0);
 
-        for (String goal : getGoals(plugin)) {
-            final MojoDescriptor mojoDescriptor = pluginBuildManager.getMojoDescriptor(plugin, goal, repositories, repositorySession);
-            if (!mojoDescriptor.isThreadSafe()) {
+        final Collection<String> goals = getGoals(plugin);
+        if (goals.isEmpty()) {
+            return nonThreadSafeGoals;
+        }
+
+        Map<String, Boolean> threadSafeGoals = getThreadSafeGoals(plugin);
+        if (!threadSafeGoals.keySet().containsAll(goals)) {
+            // the store, the index and the plugin.xml can miss goals, only the plugin loaded by maven is authoritative
+            threadSafeGoals = resolveThreadSafeGoals(plugin);
+            // the complete verdicts replace the incomplete ones so the plugin is resolved only once
+            threadSafeCache.put(plugin.getId(), threadSafeGoals);
+        }
+        for (String goal : goals) {
+            final Boolean threadSafe = threadSafeGoals.get(goal);
+            if (threadSafe == null) {
+                throw new MojoNotFoundException(goal, toPluginDescriptor(plugin, threadSafeGoals.keySet()));
+            }
+
+            if (!threadSafe) {
                 nonThreadSafeGoals.add(goal);
             }
         }
@@ -44,8 +114,149 @@ public class PluginService {
         return nonThreadSafeGoals;
     }
 
-    private List<String> getGoals(Plugin plugin) {
-        List<String> pluginGoals = new ArrayList<>(0);
+    /**
+     * Returns the descriptors of the goals bound by the executions of the plugin, every goal is returned once.
+     * The descriptor of the plugin is loaded once per session.
+     *
+     * @param plugin The plugin.
+     * @return The mojo descriptors of the bound goals in the order of the executions.
+     */
+    public List<MojoDescriptor> getBoundMojoDescriptors(Plugin plugin)
+            throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+
+        final Collection<String> goals = getGoals(plugin);
+        if (goals.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+
+        final Map<String, MojoDescriptor> mojoDescriptors = getMojoDescriptors(plugin);
+
+        final List<MojoDescriptor> boundMojoDescriptors = new ArrayList<>(goals.size());
+        for (String goal : goals) {
+            final MojoDescriptor mojoDescriptor = mojoDescriptors.get(goal);
+            if (mojoDescriptor == null) {
+                throw new MojoNotFoundException(goal, toPluginDescriptor(plugin, mojoDescriptors.keySet()));
+            }
+            boundMojoDescriptors.add(mojoDescriptor);
+        }
+
+        return boundMojoDescriptors;
+    }
+
+    /**
+     * Loads the descriptor of the plugin once and returns the thread safety of all its goals.
+     *
+     * @param plugin The plugin.
+     * @return The thread safety of every goal of the plugin.
+     */
+    private Map<String, Boolean> getThreadSafeGoals(Plugin plugin)
+            throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+
+        final boolean[] miss = new boolean[1];
+        final Map<String, Boolean> threadSafeGoals = threadSafeCache.get(plugin, plugin.getId(), () -> {
+            miss[0] = true;
+            return loadThreadSafeGoals(plugin);
+        });
+        if (metrics != null && miss[0]) {
+            metrics.recordCacheMiss();
+        } else if (metrics != null) {
+            metrics.recordCacheHit();
+        }
+
+        return threadSafeGoals;
+    }
+
+    private Map<String, Boolean> loadThreadSafeGoals(Plugin plugin)
+            throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+
+        final Map<String, Boolean> storedThreadSafeGoals = verdictStore != null ? verdictStore.get(plugin.getId()) : null;
+        if (storedThreadSafeGoals != null) {
+            if (metrics != null) {
+                metrics.recordStoreHit();
+            }
+            return storedThreadSafeGoals;
+        }
+
+        final Map<String, Boolean> knownThreadSafeGoals = knownPluginIndex != null ? knownPluginIndex.get(plugin.getId()) : null;
+        if (knownThreadSafeGoals != null) {
+            if (metrics != null) {
+                metrics.recordIndexHit();
+            }
+            return knownThreadSafeGoals;
+        }
+
+        final long startNanos = metrics != null ? System.nanoTime() : 0;
+        final Map<String, Boolean> threadSafeGoals = pluginXmlReader != null ? pluginXmlReader.read(plugin) : null;
+        if (threadSafeGoals == null) {
+            return resolveThreadSafeGoals(plugin);
+        }
+        if (metrics != null) {
+            metrics.recordResolution(plugin, System.nanoTime() - startNanos);
+        }
+        // only the verdicts resolved by this lookup are written, the store takes its file lock once per plugin
+        if (verdictStore != null) {
+            verdictStore.put(plugin, threadSafeGoals);
+        }
+
+        return threadSafeGoals;
+    }
+
+    /**
+     * Loads the plugin with maven, once per session, and stores the thread safety of its goals.
+     * A verdict of the store that misses goals is replaced.
+     */
+    private Map<String, Boolean> resolveThreadSafeGoals(Plugin plugin)
+            throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+
+        final long startNanos = metrics != null ? System.nanoTime() : 0;
+        final Map<String, Boolean> threadSafeGoals = new LinkedHashMap<>();
+        getMojoDescriptors(plugin).forEach((goal, mojoDescriptor) -> threadSafeGoals.put(goal, mojoDescriptor.isThreadSafe()));
+        if (metrics != null) {
+            metrics.recordResolution(plugin, System.nanoTime() - startNanos);
+        }
+
+        if (verdictStore != null) {
+            verdictStore.put(plugin, Collections.unmodifiableMap(threadSafeGoals));
+        }
+
+        return Collections.unmodifiableMap(threadSafeGoals);
+    }
+
+    private Map<String, MojoDescriptor> getMojoDescriptors(Plugin plugin)
+            throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+
+        return mojoDescriptorCache.get(plugin, plugin.getId(), () -> {
+            final Map<String, MojoDescriptor> loadedMojoDescriptors = new LinkedHashMap<>();
+            final PluginDescriptor pluginDescriptor = pluginBuildManager.loadPlugin(plugin, repositories, repositorySession);
+            if (pluginDescriptor.getMojos() != null) {
+                pluginDescriptor.getMojos().forEach(mojoDescriptor -> loadedMojoDescriptors.put(mojoDescriptor.getGoal(), mojoDescriptor));
+            }
+            return Collections.unmodifiableMap(loadedMojoDescriptors);
+        });
+    }
+
+    private static PluginDescriptor toPluginDescriptor(Plugin plugin, Collection<String> goals) {
+        final PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId(plugin.getGroupId());
+        pluginDescriptor.setArtifactId(plugin.getArtifactId());
+        pluginDescriptor.setVersion(plugin.getVersion());
+        for (String goal : goals) {
+            final MojoDescriptor mojoDescriptor = new MojoDescriptor();
+            mojoDescriptor.setGoal(goal);
+            try {
+                pluginDescriptor.addMojo(mojoDescriptor);
+            } catch (DuplicateMojoDescriptorException e) {
+                // the goals are the keys of a map, they are unique
+                throw new IllegalStateException(e);
+            }
+        }
+
+        return pluginDescriptor;
+    }
+
+    static Collection<String> getGoals(Plugin plugin) {
+        // the same goal can be bound by many executions, it is checked only once
+        Set<String> pluginGoals = new LinkedHashSet<>();
 
         final List<PluginExecution> executions = plugin.getExecutions();
         for (PluginExecution pluginExecution : executions) {
@@ -0,0 +1,144 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.maven.model.Plugin;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+
+/**
+ * Reads the thread safety of the goals straight from the plugin descriptor inside the plugin jar of the local repository.
+ *
+ * Only the "goal" and "threadSafe" elements of the mojos are parsed, the rest of the descriptor is skipped.
+ * Plugins that are not in the local repository, snapshots and unreadable descriptors are left to maven.
+ */
+class PluginXmlReader {
+    static final String PLUGIN_XML = "META-INF/maven/plugin.xml";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    // depth of the elements: <plugin><mojos><mojo><goal>
+    private static final int MOJO_DEPTH = 3;
+    private static final int MOJO_CHILD_DEPTH = 4;
+
+    private final RepositorySystemSession repositorySession;
+
+    PluginXmlReader(RepositorySystemSession repositorySession) {
+        this.repositorySession = repositorySession;
+    }
+
+    /**
+     * Returns the thread safety of all the goals of a plugin.
+     *
+     * @param plugin The plugin.
+     * @return The thread safety of every goal or null if the descriptor can not be read from the local repository.
+     */
+    Map<String, Boolean> read(Plugin plugin) {
+        final File jar = getJar(plugin);
+        if (jar == null || !jar.isFile()) {
+            return null;
+        }
+
+        return readJar(jar);
+    }
+
+    /**
+     * @param jar The plugin jar.
+     * @return The thread safety of every goal or null if the jar has no readable plugin descriptor.
+     */
+    static Map<String, Boolean> readJar(File jar) {
+        try {
+            return parseJar(jar);
+        } catch (IOException | XMLStreamException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param jar The plugin jar.
+     * @return The thread safety of every goal or null if the jar has no plugin descriptor.
+     * @throws IOException        If the jar can not be read.
+     * @throws XMLStreamException If the plugin descriptor can not be parsed.
+     */
+    static Map<String, Boolean> parseJar(File jar) throws IOException, XMLStreamException {
+        try (ZipFile zipFile = new ZipFile(jar)) {
+            final ZipEntry entry = zipFile.getEntry(PLUGIN_XML);
+            if (entry == null) {
+                return null;
+            }
+
+            try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                return parse(inputStream);
+            }
+        }
+    }
+
+    private File getJar(Plugin plugin) {
+        if (!VerdictStore.isStorable(plugin) || plugin.getGroupId() == null || plugin.getArtifactId() == null) {
+            return null;
+        }
+
+        final LocalRepositoryManager localRepositoryManager = repositorySession.getLocalRepositoryManager();
+        if (localRepositoryManager == null) {
+            return null;
+        }
+
+        final DefaultArtifact artifact = new DefaultArtifact(plugin.getGroupId(), plugin.getArtifactId(), "jar", plugin.getVersion());
+        return new File(localRepositoryManager.getRepository().getBasedir(), localRepositoryManager.getPathForLocalArtifact(artifact));
+    }
+
+    static Map<String, Boolean> parse(InputStream inputStream) throws XMLStreamException {
+        final Map<String, Boolean> threadSafeGoals = new LinkedHashMap<>();
+        final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        try {
+            int depth = 0;
+            String goal = null;
+            boolean threadSafe = false;
+            while (reader.hasNext()) {
+                final int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                    if (depth == MOJO_DEPTH && "mojo".equals(reader.getLocalName())) {
+                        goal = null;
+                        threadSafe = false;
+                    } else if (depth == MOJO_CHILD_DEPTH && "goal".equals(reader.getLocalName())) {
+                        goal = reader.getElementText().trim();
+                        depth--;
+                    } else if (depth == MOJO_CHILD_DEPTH && "threadSafe".equals(reader.getLocalName())) {
+                        threadSafe = Boolean.parseBoolean(reader.getElementText().trim());
+                        depth--;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (depth == MOJO_DEPTH && "mojo".equals(reader.getLocalName()) && goal != null) {
+                        threadSafeGoals.put(goal, threadSafe);
+                    }
+                    depth--;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        return Collections.unmodifiableMap(threadSafeGoals);
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        final XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return xmlInputFactory;
+    }
+}
@@ -0,0 +1,515 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.plugin.InvalidPluginDescriptorException;
+import org.apache.maven.plugin.MojoNotFoundException;
+import org.apache.maven.plugin.PluginDescriptorParsingException;
+import org.apache.maven.plugin.PluginNotFoundException;
+import org.apache.maven.plugin.PluginResolutionException;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * Checks the build plugins of every pom.xml of a source tree against the plugin jars of a local repository,
+ * without running maven. The poms are read in parallel and every distinct plugin is looked up once.
+ *
+ * Versions come from the pom, or from the plugins and the plugin management of its parents in the same tree,
+ * and are interpolated with the properties of the pom and of these parents. Profiles are not activated,
+ * plugins whose version comes from a parent outside of the tree are reported as unknown.
+ *
+ * <pre>
+ * java PomTreeScanner &lt;source tree&gt; &lt;local repository&gt; [--threads=N] [--exclude=groupId[:artifactId[:version]]]... [--include-maven-plugins] [--known-plugin-index=file]
+ * </pre>
+ */
+public class PomTreeScanner {
+    static final String POM_FILE = "pom.xml";
+    // parents refer to each other by relative paths, the depth is bounded so cycles end
+    private static final int MAX_PARENT_DEPTH = 16;
+    private static final Set<String> SKIPPED_DIRECTORIES = new HashSet<>(Arrays.asList("target", "node_modules"));
+
+    private final Path localRepository;
+    private final KnownPluginIndex knownPluginIndex;
+    private final PluginExclusions exclusions;
+    private final int threads;
+
+    private final PluginCache<Map<String, Boolean>> threadSafeCache = new PluginCache<>();
+    // the parents are read once, a pom without a readable parent is read every time it is needed
+    private final Map<Path, Model> parentModels = new ConcurrentHashMap<>();
+    private final AtomicInteger references = new AtomicInteger();
+
+    PomTreeScanner(Path localRepository, KnownPluginIndex knownPluginIndex, PluginExclusions exclusions, int threads) {
+        this.localRepository = localRepository;
+        this.knownPluginIndex = knownPluginIndex;
+        this.exclusions = exclusions;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws IOException, InvalidVersionSpecificationException {
+        final List<String> paths = new ArrayList<>(0);
+        final List<Plugin> exclude = new ArrayList<>(0);
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean includeMavenPlugins = false;
+        File knownPluginIndex = null;
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                threads = parseThreads(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--exclude=")) {
+                exclude.add(toPlugin(arg.substring("--exclude=".length())));
+            } else if (arg.equals("--include-maven-plugins")) {
+                includeMavenPlugins = true;
+            } else if (arg.startsWith("--known-plugin-index=")) {
+                knownPluginIndex = new File(arg.substring("--known-plugin-index=".length()));
+            } else {
+                paths.add(arg);
+            }
+        }
+        if (paths.size() != 2 || threads < 1) {
+            System.err.println("Usage: PomTreeScanner <source tree> <local repository> [--threads=N] [--exclude=groupId[:artifactId[:version]]]... [--include-maven-plugins] [--known-plugin-index=file]");
+            System.exit(1);
+        }
+        if (!includeMavenPlugins) {
+            exclude.add(toPlugin("org.apache.maven.plugins"));
+        }
+
+        final PomTreeScanner scanner = new PomTreeScanner(Paths.get(paths.get(1)), knownPluginIndex != null ? KnownPluginIndex.read(knownPluginIndex) : null, PluginExclusions.compile(exclude), threads);
+        System.out.print(scanner.scan(Paths.get(paths.get(0))).format());
+    }
+
+    /**
+     * @return The number of threads, or 0 when the value is not a number so the usage is printed.
+     */
+    static int parseThreads(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Reads the poms while the tree is walked, the walk only lists the files.
+     *
+     * @param root The root of the source tree.
+     * @return The summary of all the poms of the tree.
+     */
+    Summary scan(Path root) throws IOException {
+        final long startNanos = System.nanoTime();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<PomResult>> futures = new ArrayList<>();
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                    final String name = directory.equals(root) ? "" : directory.getFileName().toString();
+                    return name.startsWith(".") || SKIPPED_DIRECTORIES.contains(name) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (file.getFileName().toString().equals(POM_FILE)) {
+                        futures.add(executor.submit(() -> scanPom(file)));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+
+            final Summary summary = new Summary(threads);
+            for (Future<PomResult> future : futures) {
+                try {
+                    summary.add(future.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                } catch (ExecutionException e) {
+                    throw new IOException(e.getCause());
+                }
+            }
+            summary.distinctPlugins = threadSafeCache.size();
+            summary.references = references.get();
+            summary.elapsedNanos = System.nanoTime() - startNanos;
+
+            return summary;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    PomResult scanPom(Path pom) {
+        final PomResult result = new PomResult(pom);
+        final Model model;
+        try {
+            model = readModel(pom);
+        } catch (IOException | XmlPullParserException e) {
+            result.error = e.getMessage();
+            return result;
+        }
+        if (model.getBuild() == null) {
+            return result;
+        }
+
+        final List<Model> lineage = getLineage(pom, model);
+        for (Plugin declaredPlugin : model.getBuild().getPlugins()) {
+            // the models of the parents are shared by the threads, they are never changed
+            final Plugin plugin = declaredPlugin.clone();
+            final String version = plugin.getVersion() != null ? plugin.getVersion() : getInheritedVersion(lineage, plugin.getKey());
+            plugin.setVersion(version != null ? interpolate(version, lineage) : null);
+            if (exclusions.matches(plugin)) {
+                continue;
+            }
+
+            final Collection<String> goals = PluginService.getGoals(plugin);
+            if (goals.isEmpty()) {
+                continue;
+            }
+
+            final Map<String, Boolean> threadSafeGoals;
+            try {
+                threadSafeGoals = getThreadSafeGoals(plugin);
+            } catch (InvalidPluginDescriptorException
+                    | MojoNotFoundException
+                    | PluginResolutionException
+                    | PluginDescriptorParsingException
+                    | PluginNotFoundException e) {
+                result.error = e.getMessage();
+                return result;
+            }
+            if (threadSafeGoals == null) {
+                result.unknownPlugins.add(getPluginId(plugin));
+                continue;
+            }
+
+            final List<String> nonThreadSafeGoals = new ArrayList<>(0);
+            for (String goal : goals) {
+                // a goal that is missing from the descriptor is a broken build, not a non thread safe goal
+                if (Boolean.FALSE.equals(threadSafeGoals.get(goal))) {
+                    nonThreadSafeGoals.add(goal);
+                }
+            }
+            if (!nonThreadSafeGoals.isEmpty()) {
+                result.nonThreadSafePlugins.add(new PluginGoals(plugin, nonThreadSafeGoals));
+            }
+        }
+
+        return result;
+    }
+
+    private static Model readModel(Path pom) throws IOException, XmlPullParserException {
+        try (InputStream inputStream = Files.newInputStream(pom)) {
+            return new MavenXpp3Reader().read(inputStream, false);
+        }
+    }
+
+    /**
+     * @return The model of the pom followed by the models of its parents that are part of the tree.
+     */
+    private List<Model> getLineage(Path pom, Model model) {
+        final List<Model> lineage = new ArrayList<>();
+        lineage.add(model);
+
+        Path file = pom;
+        Model current = model;
+        while (current.getParent() != null && lineage.size() < MAX_PARENT_DEPTH) {
+            final Parent parent = current.getParent();
+            if (parent.getRelativePath() == null || parent.getRelativePath().trim().isEmpty()) {
+                break;
+            }
+            Path parentPom = file.getParent().resolve(parent.getRelativePath().trim()).normalize();
+            if (Files.isDirectory(parentPom)) {
+                parentPom = parentPom.resolve(POM_FILE);
+            }
+
+            final Model parentModel = getParentModel(parentPom);
+            if (parentModel == null || !isModelOf(parentModel, parent)) {
+                break;
+            }
+            lineage.add(parentModel);
+            file = parentPom;
+            current = parentModel;
+        }
+
+        return lineage;
+    }
+
+    private Model getParentModel(Path pom) {
+        if (!Files.isRegularFile(pom)) {
+            return null;
+        }
+
+        return parentModels.computeIfAbsent(pom, key -> {
+            try {
+                return readModel(key);
+            } catch (IOException | XmlPullParserException e) {
+                // the pom itself is reported as unreadable when it is scanned
+                return null;
+            }
+        });
+    }
+
+    private static boolean isModelOf(Model model, Parent parent) {
+        final String groupId = model.getGroupId() != null ? model.getGroupId()
+                : model.getParent() != null ? model.getParent().getGroupId() : null;
+        return Objects.equals(parent.getArtifactId(), model.getArtifactId()) && Objects.equals(parent.getGroupId(), groupId);
+    }
+
+    /**
+     * A plugin without a version inherits the version of the same plugin in the build of a parent,
+     * or the version of its plugin management, the nearest model wins.
+     */
+    private static String getInheritedVersion(List<Model> lineage, String pluginKey) {
+        for (int i = 0; i < lineage.size(); i++) {
+            final Build build = lineage.get(i).getBuild();
+            if (build == null) {
+                continue;
+            }
+            final Plugin inheritedPlugin = i > 0 ? build.getPluginsAsMap().get(pluginKey) : null;
+            if (inheritedPlugin != null && inheritedPlugin.getVersion() != null) {
+                return inheritedPlugin.getVersion();
+            }
+            final Plugin managedPlugin = build.getPluginManagement() != null ? build.getPluginManagement().getPluginsAsMap().get(pluginKey) : null;
+            if (managedPlugin != null && managedPlugin.getVersion() != null) {
+                return managedPlugin.getVersion();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return The thread safety of the goals or null if the plugin is neither known nor in the local repository.
+     * @throws PluginDescriptorParsingException If the plugin jar or its descriptor can not be read.
+     */
+    private Map<String, Boolean> getThreadSafeGoals(Plugin plugin)
+            throws InvalidPluginDescriptorException, MojoNotFoundException, PluginResolutionException, PluginDescriptorParsingException, PluginNotFoundException {
+        if (plugin.getVersion() == null || plugin.getVersion().contains("${")) {
+            return null;
+        }
+
+        references.incrementAndGet();
+        return threadSafeCache.get(plugin, plugin.getId(), () -> {
+            final Map<String, Boolean> knownThreadSafeGoals = knownPluginIndex != null ? knownPluginIndex.get(plugin.getId()) : null;
+            if (knownThreadSafeGoals != null) {
+                return knownThreadSafeGoals;
+            }
+
+            final File jar = localRepository.resolve(plugin.getGroupId().replace('.', File.separatorChar))
+                    .resolve(plugin.getArtifactId())
+                    .resolve(plugin.getVersion())
+                    .resolve(plugin.getArtifactId() + "-" + plugin.getVersion() + ".jar")
+                    .toFile();
+            if (!jar.isFile()) {
+                return null;
+            }
+            try {
+                return PluginXmlReader.parseJar(jar);
+            } catch (IOException | XMLStreamException e) {
+                throw new PluginDescriptorParsingException(plugin, jar.getPath(), e);
+            }
+        });
+    }
+
+    /**
+     * Replaces the properties of the pom and the version of the project, the other expressions are left as they are.
+     */
+    static String interpolate(String value, Model model) {
+        return interpolate(value, Collections.singletonList(model));
+    }
+
+    /**
+     * @param lineage The model of the pom followed by the models of its parents, the properties of the pom win.
+     */
+    static String interpolate(String value, List<Model> lineage) {
+        if (!value.contains("${")) {
+            return value;
+        }
+
+        final Properties properties = new Properties();
+        for (int i = lineage.size() - 1; i >= 0; i--) {
+            properties.putAll(lineage.get(i).getProperties());
+        }
+        final Model model = lineage.get(0);
+        final String version = model.getVersion() != null ? model.getVersion()
+                : model.getParent() != null ? model.getParent().getVersion() : null;
+        if (version != null) {
+            properties.setProperty("project.version", version);
+            properties.setProperty("pom.version", version);
+            properties.setProperty("version", version);
+        }
+
+        String interpolated = value;
+        // properties can refer to other properties, the depth is bounded so cycles end
+        for (int depth = 0; depth < 8 && interpolated.contains("${"); depth++) {
+            final int start = interpolated.indexOf("${");
+            final int end = interpolated.indexOf('}', start);
+            final String property = end > start ? properties.getProperty(interpolated.substring(start + 2, end)) : null;
+            if (property == null) {
+                break;
+            }
+            interpolated = interpolated.substring(0, start) + property + interpolated.substring(end + 1);
+        }
+
+        return interpolated;
+    }
+
+    private static String getPluginId(Plugin plugin) {
+        return plugin.getGroupId() + ":" + plugin.getArtifactId() + (plugin.getVersion() != null ? ":" + plugin.getVersion() : "");
+    }
+
+    private static Plugin toPlugin(String coordinates) {
+        final String[] parts = coordinates.split(":");
+        final Plugin plugin = new Plugin();
+        plugin.setGroupId(parts[0]);
+        plugin.setArtifactId(parts.length > 1 ? parts[1] : null);
+        plugin.setVersion(parts.length > 2 ? parts[2] : null);
+        return plugin;
+    }
+
+    static class PomResult {
+        private final Path pom;
+        private final List<PluginGoals> nonThreadSafePlugins = new ArrayList<>(0);
+        private final List<String> unknownPlugins = new ArrayList<>(0);
+        private String error;
+
+        private PomResult(Path pom) {
+            this.pom = pom;
+        }
+
+        List<PluginGoals> getNonThreadSafePlugins() {
+            return nonThreadSafePlugins;
+        }
+
+        List<String> getUnknownPlugins() {
+            return unknownPlugins;
+        }
+
+        String getError() {
+            return error;
+        }
+    }
+
+    static class Summary {
+        private final int threads;
+        private int poms;
+        private int readyPoms;
+        private final Map<String, Set<String>> nonThreadSafeGoals = new TreeMap<>();
+        private final Map<String, Integer> nonThreadSafePoms = new TreeMap<>();
+        private final Map<String, Integer> unknownPoms = new TreeMap<>();
+        private final Map<Path, String> errors = new TreeMap<>();
+        private int distinctPlugins;
+        private int references;
+        private long elapsedNanos;
+
+        private Summary(int threads) {
+            this.threads = threads;
+        }
+
+        private void add(PomResult result) {
+            poms++;
+            if (result.error != null) {
+                errors.put(result.pom, result.error);
+                return;
+            }
+            if (result.nonThreadSafePlugins.isEmpty() && result.unknownPlugins.isEmpty()) {
+                readyPoms++;
+            }
+            for (PluginGoals pluginGoals : result.nonThreadSafePlugins) {
+                final String pluginId = pluginGoals.getPlugin().getId();
+                nonThreadSafeGoals.computeIfAbsent(pluginId, key -> new TreeSet<>()).addAll(pluginGoals.getGoals());
+                nonThreadSafePoms.merge(pluginId, 1, Integer::sum);
+            }
+            for (String pluginId : new TreeSet<>(result.unknownPlugins)) {
+                unknownPoms.merge(pluginId, 1, Integer::sum);
+            }
+        }
+
+        int getPoms() {
+            return poms;
+        }
+
+        int getReadyPoms() {
+            return readyPoms;
+        }
+
+        Map<String, Set<String>> getNonThreadSafeGoals() {
+            return nonThreadSafeGoals;
+        }
+
+        Map<String, Integer> getNonThreadSafePoms() {
+            return nonThreadSafePoms;
+        }
+
+        Map<String, Integer> getUnknownPoms() {
+            return unknownPoms;
+        }
+
+        Map<Path, String> getErrors() {
+            return errors;
+        }
+
+        int getDistinctPlugins() {
+            return distinctPlugins;
+        }
+
+        int getReferences() {
+            return references;
+        }
+
+        double getPomsPerSecond() {
+            return elapsedNanos > 0 ? poms * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+        }
+
+        String format() {
+            final StringBuilder summary = new StringBuilder();
+            summary.append("Scanned ").append(poms).append(" POMs in ").append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append(" ms")
+                    .append(String.format(Locale.ROOT, " (%.1f POMs/s)", getPomsPerSecond()))
+                    .append(" with ").append(threads).append(" threads.\n");
+            summary.append("POMs ready for -T: ").append(readyPoms)
+                    .append(", unreadable POMs: ").append(errors.size())
+                    .append(", plugin references: ").append(references)
+                    .append(", distinct plugins looked up: ").append(distinctPlugins).append(".\n");
+            nonThreadSafeGoals.forEach((pluginId, goals) -> summary.append("Not thread safe: \"").append(pluginId)
+                    .append("\" goals ").append(goals)
+                    .append(" in ").append(nonThreadSafePoms.get(pluginId)).append(" POMs.\n"));
+            unknownPoms.forEach((pluginId, count) -> summary.append("Unknown: \"").append(pluginId)
+                    .append("\" in ").append(count).append(" POMs.\n"));
+            errors.forEach((pom, error) -> summary.append("Unreadable: ").append(pom).append(": ").append(error).append("\n"));
+
+            return summary.toString();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.model.Plugin;
+import org.eclipse.aether.RepositorySystemSession;
+
+import io.github.eniuv.maven.enforcer.custom.rules.session.SessionStore;
+
+/**
+ * Persistent store for the thread safety of plugin goals.
+ * The thread safety of a released plugin goal never changes so it can be kept between builds.
+ *
+ * The store is an append only text file with one line per plugin, the line holds the number of goals and all the goals:
+ * "groupId:artifactId:version 2 goal-one=true goal-two=false".
+ * Every line is appended at once, under a file lock, so many maven processes can share the file.
+ * The file is read once per session, under a shared lock.
+ * A line that is not terminated, or that does not hold the announced number of goals, is ignored:
+ * it belongs to a process that is still writing it or that stopped in the middle of it.
+ * When a plugin has many lines the last one wins.
+ * SNAPSHOT and unversioned plugins are never stored.
+ */
+public class VerdictStore {
+    static final String FILE_NAME = "thread-safe-plugins.txt";
+
+    private final Path file;
+    private final Map<String, Map<String, Boolean>> verdicts = new ConcurrentHashMap<>();
+
+    VerdictStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the store of the given directory that is shared by all the modules of the build.
+     *
+     * @param repositorySession The repository session of the build.
+     * @param directory         The directory of the store.
+     * @return The store.
+     */
+    public static VerdictStore forDirectory(RepositorySystemSession repositorySession, File directory) {
+        final Path file = directory.toPath().resolve(FILE_NAME).toAbsolutePath();
+        return SessionStore.get(repositorySession, VerdictStore.class, file.toString(), () -> load(file));
+    }
+
+    /**
+     * @param repositorySession The repository session of the build.
+     * @return The directory of the store when none is configured: ".cache/maven-enforcer-custom-rules" in the local repository.
+     */
+    public static File getDefaultDirectory(RepositorySystemSession repositorySession) {
+        return new File(repositorySession.getLocalRepository().getBasedir(), ".cache/maven-enforcer-custom-rules");
+    }
+
+    static VerdictStore load(Path file) {
+        final VerdictStore store = new VerdictStore(file);
+        if (!Files.isRegularFile(file)) {
+            return store;
+        }
+
+        final String content;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             FileLock ignored = channel.lock(0, Long.MAX_VALUE, true)) {
+            final ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                // the file is read in as many chunks as the channel returns
+            }
+            content = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+        } catch (IOException | OverlappingFileLockException e) {
+            // the store is only an optimization, a store that can not be read is an empty store
+            return store;
+        }
+
+        int lineStart = 0;
+        int lineEnd = content.indexOf('\n');
+        while (lineEnd >= 0) {
+            parseLine(content.substring(lineStart, lineEnd), store.verdicts);
+
+            lineStart = lineEnd + 1;
+            lineEnd = content.indexOf('\n', lineStart);
+        }
+
+        return store;
+    }
+
+    private static void parseLine(String line, Map<String, Map<String, Boolean>> verdicts) {
+        final String[] tokens = line.split(" ");
+        if (tokens.length < 2 || tokens[0].indexOf('=') >= 0) {
+            return;
+        }
+
+        final int goals;
+        try {
+            goals = Integer.parseInt(tokens[1]);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (goals != tokens.length - 2) {
+            return;
+        }
+
+        final Map<String, Boolean> threadSafeGoals = new LinkedHashMap<>();
+        for (int i = 2; i < tokens.length; i++) {
+            final int valueSeparator = tokens[i].lastIndexOf('=');
+            final String value = valueSeparator > 0 ? tokens[i].substring(valueSeparator + 1) : "";
+            if (!value.equals("true") && !value.equals("false")) {
+                return;
+            }
+            threadSafeGoals.put(tokens[i].substring(0, valueSeparator), Boolean.valueOf(value));
+        }
+
+        verdicts.put(tokens[0], Collections.unmodifiableMap(threadSafeGoals));
+    }
+
+    public static boolean isStorable(Plugin plugin) {
+        return plugin.getVersion() != null && !ArtifactUtils.isSnapshot(plugin.getVersion());
+    }
+
+    /**
+     * Returns the thread safety of all the goals of a plugin.
+     *
+     * @param pluginId The id of the plugin: "groupId:artifactId:version".
+     * @return The thread safety of every goal or null if the plugin is not stored.
+     */
+    public Map<String, Boolean> get(String pluginId) {
+        return verdicts.get(pluginId);
+    }
+
+    /**
+     * Stores the thread safety of all the goals of a plugin, the file is written only when the verdicts changed.
+     *
+     * @param plugin          The plugin.
+     * @param threadSafeGoals The thread safety of every goal of the plugin.
+     */
+    public void put(Plugin plugin, Map<String, Boolean> threadSafeGoals) {
+        if (!isStorable(plugin) || threadSafeGoals.equals(verdicts.put(plugin.getId(), threadSafeGoals))) {
+            return;
+        }
+
+        final StringBuilder line = new StringBuilder(plugin.getId()).append(' ').append(threadSafeGoals.size());
+        threadSafeGoals.forEach((goal, threadSafe) -> line.append(' ').append(goal).append('=').append(threadSafe));
+        append(line.append('\n').toString());
+    }
+
+    // file locks are held by the whole jvm, the threads of this jvm have to take turns
+    private synchronized void append(String line) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                // a process that stopped in the middle of a line leaves it unterminated, it must not swallow this line
+                final ByteBuffer last = ByteBuffer.allocate(1);
+                final long size = channel.size();
+                final boolean terminated = size == 0 || channel.read(last, size - 1) == 1 && last.get(0) == '\n';
+
+                final ByteBuffer buffer = ByteBuffer.wrap(((terminated ? "" : "\n") + line).getBytes(StandardCharsets.UTF_8));
+                long position = size;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            }
+        } catch (IOException | OverlappingFileLockException e) {
+            // the verdict is still known for this session, it will be stored by a later build
+        }
+    }
+}
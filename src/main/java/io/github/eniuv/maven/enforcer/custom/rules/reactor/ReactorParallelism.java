@@ -0,0 +1,154 @@
+package io.github.eniuv.maven.enforcer.custom.rules.reactor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.execution.ProjectDependencyGraph;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * The parallelism a reactor can use with "-T", every module counts as one unit of build time.
+ *
+ * The build is simulated with unlimited threads: a module starts as soon as the modules it depends on are built,
+ * but only one module with non thread safe goals is built at a time.
+ * The speedup is the number of modules divided by the length of the simulated build
+ * and the recommended number of threads is the highest number of modules that were built at the same time.
+ */
+public class ReactorParallelism {
+    private final int modules;
+    private final int criticalPath;
+    private final int maximumWidth;
+    private final int nonThreadSafeModules;
+    private final int buildLength;
+    private final int recommendedThreads;
+
+    private ReactorParallelism(int modules, int criticalPath, int maximumWidth, int nonThreadSafeModules, int buildLength, int recommendedThreads) {
+        this.modules = modules;
+        this.criticalPath = criticalPath;
+        this.maximumWidth = maximumWidth;
+        this.nonThreadSafeModules = nonThreadSafeModules;
+        this.buildLength = buildLength;
+        this.recommendedThreads = recommendedThreads;
+    }
+
+    /**
+     * @param projects               The projects of the reactor, sorted so every project comes after its upstream projects.
+     * @param graph                  The dependency graph of the reactor or null if the projects do not depend on each other.
+     * @param nonThreadSafeProjectIds The ids of the projects with non thread safe goals.
+     * @return The parallelism of the reactor.
+     */
+    public static ReactorParallelism analyze(List<MavenProject> projects, ProjectDependencyGraph graph, Set<String> nonThreadSafeProjectIds) {
+        final Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < projects.size(); i++) {
+            indexes.put(projects.get(i).getId(), i);
+        }
+
+        final List<List<Integer>> upstreams = new ArrayList<>(projects.size());
+        for (MavenProject project : projects) {
+            final List<Integer> upstream = new ArrayList<>(0);
+            final List<MavenProject> upstreamProjects = graph != null ? graph.getUpstreamProjects(project, false) : Collections.emptyList();
+            for (MavenProject upstreamProject : upstreamProjects) {
+                final Integer index = indexes.get(upstreamProject.getId());
+                if (index != null) {
+                    upstream.add(index);
+                }
+            }
+            upstreams.add(upstream);
+        }
+
+        // the depth of a module is the length of the longest chain of modules that ends with it
+        final int[] depths = new int[projects.size()];
+        final Map<Integer, Integer> widths = new HashMap<>();
+        int criticalPath = 0;
+        int maximumWidth = 0;
+        for (int i = 0; i < projects.size(); i++) {
+            int depth = 1;
+            for (int upstream : upstreams.get(i)) {
+                depth = Math.max(depth, depths[upstream] + 1);
+            }
+            depths[i] = depth;
+            criticalPath = Math.max(criticalPath, depth);
+            final int width = widths.merge(depth, 1, Integer::sum);
+            maximumWidth = Math.max(maximumWidth, width);
+        }
+
+        final boolean[] nonThreadSafe = new boolean[projects.size()];
+        int nonThreadSafeModules = 0;
+        for (int i = 0; i < projects.size(); i++) {
+            nonThreadSafe[i] = nonThreadSafeProjectIds.contains(projects.get(i).getId());
+            if (nonThreadSafe[i]) {
+                nonThreadSafeModules++;
+            }
+        }
+
+        // simulate the build one unit of time at a time
+        final int[] finished = new int[projects.size()];
+        int built = 0;
+        int buildLength = 0;
+        int recommendedThreads = 0;
+        while (built < projects.size()) {
+            buildLength++;
+            int running = 0;
+            boolean nonThreadSafeRunning = false;
+            for (int i = 0; i < projects.size(); i++) {
+                if (finished[i] != 0 || !isReady(upstreams.get(i), finished, buildLength)) {
+                    continue;
+                }
+                if (nonThreadSafe[i]) {
+                    if (nonThreadSafeRunning) {
+                        continue;
+                    }
+                    nonThreadSafeRunning = true;
+                }
+                finished[i] = buildLength;
+                running++;
+            }
+            built += running;
+            recommendedThreads = Math.max(recommendedThreads, running);
+        }
+
+        return new ReactorParallelism(projects.size(), criticalPath, maximumWidth, nonThreadSafeModules, buildLength, recommendedThreads);
+    }
+
+    private static boolean isReady(List<Integer> upstream, int[] finished, int time) {
+        for (int index : upstream) {
+            if (finished[index] == 0 || finished[index] >= time) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public int getModules() {
+        return modules;
+    }
+
+    public int getCriticalPath() {
+        return criticalPath;
+    }
+
+    public int getMaximumWidth() {
+        return maximumWidth;
+    }
+
+    public int getNonThreadSafeModules() {
+        return nonThreadSafeModules;
+    }
+
+    public int getBuildLength() {
+        return buildLength;
+    }
+
+    public int getRecommendedThreads() {
+        return recommendedThreads;
+    }
+
+    public double getSpeedup() {
+        return buildLength == 0 ? 1 : (double) modules / buildLength;
+    }
+}
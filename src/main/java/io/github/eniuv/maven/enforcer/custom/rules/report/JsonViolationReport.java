@@ -0,0 +1,58 @@
+package io.github.eniuv.maven.enforcer.custom.rules.report;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.maven.model.Plugin;
+
+/**
+ * <pre>
+ * {"module": "...",
+ *  "exclusions": [{"plugin": "g:a:v", "matchedBy": ["g:a"]}],
+ *  "violations": [{"plugin": "g:a:v", "goal": "..."}]}
+ * </pre>
+ */
+class JsonViolationReport extends ViolationReport {
+
+    JsonViolationReport(JsonWriter json, String module) {
+        super(json, module);
+    }
+
+    @Override
+    void writeHeader() throws IOException {
+        json.beginObject().name("module").value(module);
+    }
+
+    @Override
+    void beginExclusions() throws IOException {
+        json.name("exclusions").beginArray();
+    }
+
+    @Override
+    void endExclusions() {
+    }
+
+    @Override
+    void beginViolations() throws IOException {
+        json.name("violations").beginArray();
+    }
+
+    @Override
+    void writeExclusion(Plugin plugin, List<Plugin> matchedBy) throws IOException {
+        json.beginObject().name("plugin").value(toId(plugin)).name("matchedBy").beginArray();
+        for (Plugin entry : matchedBy) {
+            json.value(toId(entry));
+        }
+        json.endArray().endObject();
+    }
+
+    @Override
+    void writeViolation(Plugin plugin, String goal) throws IOException {
+        json.beginObject().name("plugin").value(toId(plugin)).name("goal").value(goal).endObject();
+    }
+
+    @Override
+    void writeFooter() throws IOException {
+        json.endObject();
+    }
+}
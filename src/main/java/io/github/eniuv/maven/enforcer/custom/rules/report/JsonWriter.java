@@ -0,0 +1,140 @@
+package io.github.eniuv.maven.enforcer.custom.rules.report;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Minimal streaming json writer, every value is written as soon as it is known.
+ */
+public class JsonWriter implements Closeable {
+    private final Writer writer;
+    // for every open object or array: true if it already has a value
+    private final Deque<Boolean> hasValues = new ArrayDeque<>();
+    private boolean afterName;
+
+    JsonWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    JsonWriter beginObject() throws IOException {
+        return begin('{');
+    }
+
+    JsonWriter endObject() throws IOException {
+        return end('}');
+    }
+
+    JsonWriter beginArray() throws IOException {
+        return begin('[');
+    }
+
+    JsonWriter endArray() throws IOException {
+        return end(']');
+    }
+
+    JsonWriter name(String name) throws IOException {
+        separate();
+        string(name);
+        writer.write(':');
+        afterName = true;
+        return this;
+    }
+
+    JsonWriter value(String value) throws IOException {
+        separate();
+        if (value == null) {
+            writer.write("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    JsonWriter value(boolean value) throws IOException {
+        separate();
+        writer.write(String.valueOf(value));
+        return this;
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private JsonWriter begin(char bracket) throws IOException {
+        separate();
+        writer.write(bracket);
+        hasValues.push(false);
+        return this;
+    }
+
+    private JsonWriter end(char bracket) throws IOException {
+        hasValues.pop();
+        writer.write(bracket);
+        return this;
+    }
+
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!hasValues.isEmpty()) {
+            if (hasValues.pop()) {
+                writer.write(',');
+            }
+            hasValues.push(true);
+        }
+    }
+
+    private void string(String value) throws IOException {
+        writer.write(quote(value));
+    }
+
+    /**
+     * Returns the value as a json string, with the quotes, the backslashes and the control characters escaped.
+     *
+     * @param value The value.
+     * @return The quoted value.
+     */
+    public static String quote(String value) {
+        final StringBuilder quoted = new StringBuilder(value.length() + 2);
+        quoted.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        quoted.append('"');
+
+        return quoted.toString();
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.eniuv.maven.enforcer.custom.rules.report;
+
+public enum ReportFormat {
+    JSON("json"),
+    SARIF("sarif");
+
+    private final String extension;
+
+    ReportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.eniuv.maven.enforcer.custom.rules.report;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.maven.model.Plugin;
+
+/**
+ * SARIF 2.1.0 log with one run, every non thread safe goal is a result of the run.
+ * The module and the exclusions are stored in the properties of the run,
+ * the results are located in the pom of the module, relative to the root of the sources.
+ */
+class SarifViolationReport extends ViolationReport {
+    static final String RULE_ID = "non-thread-safe-goal";
+    static final String URI_BASE_ID = "%SRCROOT%";
+
+    private final String pomPath;
+    private final boolean fail;
+
+    SarifViolationReport(JsonWriter json, String module, String pomPath, boolean fail) {
+        super(json, module);
+        this.pomPath = pomPath;
+        this.fail = fail;
+    }
+
+    @Override
+    void writeHeader() throws IOException {
+        json.beginObject()
+                .name("$schema").value("https://json.schemastore.org/sarif-2.1.0.json")
+                .name("version").value("2.1.0")
+                .name("runs").beginArray().beginObject();
+
+        json.name("tool").beginObject().name("driver").beginObject()
+                .name("name").value("NonThreadSafePluginRule")
+                .name("rules").beginArray().beginObject()
+                .name("id").value(RULE_ID)
+                .name("shortDescription").beginObject().name("text").value("The goal of the plugin is not thread safe.").endObject()
+                .endObject().endArray()
+                .endObject().endObject();
+    }
+
+    @Override
+    void beginExclusions() throws IOException {
+        json.name("properties").beginObject()
+                .name("module").value(module)
+                .name("exclusions").beginArray();
+    }
+
+    @Override
+    void endExclusions() throws IOException {
+        json.endObject();
+    }
+
+    @Override
+    void beginViolations() throws IOException {
+        json.name("results").beginArray();
+    }
+
+    @Override
+    void writeExclusion(Plugin plugin, List<Plugin> matchedBy) throws IOException {
+        json.beginObject().name("plugin").value(toId(plugin)).name("matchedBy").beginArray();
+        for (Plugin entry : matchedBy) {
+            json.value(toId(entry));
+        }
+        json.endArray().endObject();
+    }
+
+    @Override
+    void writeViolation(Plugin plugin, String goal) throws IOException {
+        json.beginObject()
+                .name("ruleId").value(RULE_ID)
+                .name("level").value(fail ? "error" : "warning")
+                .name("message").beginObject()
+                .name("text").value("The Goal: \"" + goal + "\" of Plugin: \"" + toId(plugin) + "\" is not thread safe.")
+                .endObject();
+
+        json.name("locations").beginArray().beginObject()
+                .name("physicalLocation").beginObject()
+                .name("artifactLocation").beginObject().name("uri").value(pomPath).name("uriBaseId").value(URI_BASE_ID).endObject()
+                .endObject()
+                .name("logicalLocations").beginArray().beginObject()
+                .name("name").value(goal)
+                .name("fullyQualifiedName").value(module + "/" + toId(plugin) + ":" + goal)
+                .name("kind").value("module")
+                .endObject().endArray()
+                .endObject().endArray();
+
+        json.endObject();
+    }
+
+    @Override
+    void writeFooter() throws IOException {
+        json.endObject().endArray().endObject();
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.eniuv.maven.enforcer.custom.rules.report;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.maven.model.Plugin;
+
+/**
+ * Report of the non thread safe goals of a module, the entries are streamed to the file as they are reported.
+ * All the exclusions are reported before the first violation.
+ */
+public abstract class ViolationReport implements Closeable {
+    protected final JsonWriter json;
+    protected final String module;
+    private Section section = Section.NONE;
+
+    private enum Section {
+        NONE, EXCLUSIONS, VIOLATIONS
+    }
+
+    ViolationReport(JsonWriter json, String module) {
+        this.json = json;
+        this.module = module;
+    }
+
+    /**
+     * Creates the report file and writes its header.
+     *
+     * @param format The format of the report.
+     * @param file   The report file, the parent directories are created.
+     * @param module  The id of the reported module.
+     * @param pomPath The path of the pom of the module, relative to the root of the build, with forward slashes.
+     * @param fail    True if the violations fail the build.
+     * @return The open report.
+     */
+    public static ViolationReport open(ReportFormat format, Path file, String module, String pomPath, boolean fail) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        final BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        final JsonWriter json = new JsonWriter(writer);
+        final ViolationReport report = format == ReportFormat.SARIF
+                ? new SarifViolationReport(json, module, pomPath, fail)
+                : new JsonViolationReport(json, module);
+        try {
+            report.writeHeader();
+        } catch (IOException e) {
+            json.close();
+            throw e;
+        }
+
+        return report;
+    }
+
+    public void exclusion(Plugin plugin, List<Plugin> matchedBy) throws IOException {
+        if (section == Section.VIOLATIONS) {
+            throw new IllegalStateException("The exclusions are reported before the violations.");
+        }
+        enter(Section.EXCLUSIONS);
+        writeExclusion(plugin, matchedBy);
+    }
+
+    public void violation(Plugin plugin, String goal) throws IOException {
+        enter(Section.VIOLATIONS);
+        writeViolation(plugin, goal);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            enter(Section.VIOLATIONS);
+            json.endArray();
+            writeFooter();
+            json.flush();
+        } finally {
+            json.close();
+        }
+    }
+
+    private void enter(Section next) throws IOException {
+        if (section == next) {
+            return;
+        }
+        if (section == Section.NONE) {
+            beginExclusions();
+        }
+        if (next == Section.VIOLATIONS) {
+            json.endArray();
+            endExclusions();
+            beginViolations();
+        }
+        section = next;
+    }
+
+    static String toId(Plugin plugin) {
+        return plugin.getGroupId()
+                + (plugin.getArtifactId() != null ? ":" + plugin.getArtifactId() : "")
+                + (plugin.getVersion() != null ? ":" + plugin.getVersion() : "");
+    }
+
+    abstract void writeHeader() throws IOException;
+
+    /**
+     * Opens the array of the exclusions.
+     */
+    abstract void beginExclusions() throws IOException;
+
+    /**
+     * Called after the array of the exclusions was closed.
+     */
+    abstract void endExclusions() throws IOException;
+
+    /**
+     * Opens the array of the violations.
+     */
+    abstract void beginViolations() throws IOException;
+
+    abstract void writeExclusion(Plugin plugin, List<Plugin> matchedBy) throws IOException;
+
+    abstract void writeViolation(Plugin plugin, String goal) throws IOException;
+
+    /**
+     * Called after the array of the violations was closed.
+     */
+    abstract void writeFooter() throws IOException;
+}
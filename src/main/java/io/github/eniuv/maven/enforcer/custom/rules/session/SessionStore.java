@@ -0,0 +1,47 @@
+package io.github.eniuv.maven.enforcer.custom.rules.session;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Keeps objects for the whole maven session in the repository session data.
+ * Objects stored this way are shared by all the modules of the build and by all the threads of a parallel build.
+ */
+public class SessionStore {
+
+    /**
+     * Returns the object stored under the given owner and name or stores the object given by the supplier.
+     *
+     * @param repositorySession The repository session of the build.
+     * @param owner             The class that owns the object, the class is part of the key so different versions
+     *                          of this library never share an object.
+     * @param name              The name of the object.
+     * @param supplier          Creates the object when it is not stored yet.
+     * @param <T>               The type of the object.
+     * @return The stored object or a new object if the session can not hold data.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(RepositorySystemSession repositorySession, Class<?> owner, String name, Supplier<T> supplier) {
+        final SessionData data = repositorySession != null ? repositorySession.getData() : null;
+        if (data == null) {
+            return supplier.get();
+        }
+
+        final List<Object> key = Arrays.asList(owner, name);
+        final Object stored = data.get(key);
+        if (stored != null) {
+            return (T) stored;
+        }
+
+        final T value = supplier.get();
+        if (data.set(key, null, value)) {
+            return value;
+        }
+
+        return (T) data.get(key);
+    }
+}
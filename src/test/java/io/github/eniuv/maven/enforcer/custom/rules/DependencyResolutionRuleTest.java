@@ -0,0 +1,136 @@
+package io.github.eniuv.maven.enforcer.custom.rules;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DependencyResolutionRuleTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private MavenProject mavenProject;
+
+    @Mock
+    private MavenSession mavenSession;
+
+    @Mock
+    private BuildPluginManager buildPluginManager;
+
+    @Mock
+    private List<RemoteRepository> repositories;
+
+    @Mock
+    private RepositorySystemSession repositorySession;
+
+    @Mock
+    private EnforcerRuleHelper helper;
+
+    @Mock
+    private PluginService pluginService;
+
+    @Spy
+    private DependencyResolutionRule rule;
+
+    private final Log log = mock(Log.class);
+    private final Plugin compilerPlugin = PluginCreator.create("com.example.group.one", "example-compiler-plugin", "0.0.1", Arrays.asList("compile", "test-compile"));
+    private final Plugin deployPlugin = PluginCreator.create("com.example.group.two", "example-deploy-plugin", "0.0.1", Collections.singletonList("deploy"));
+
+    @Before
+    public void before() throws Exception {
+        when(helper.getLog()).thenReturn(log);
+        when(helper.evaluate("${project}")).thenReturn(mavenProject);
+        when(helper.evaluate("${session}")).thenReturn(mavenSession);
+        when(helper.getComponent(BuildPluginManager.class)).thenReturn(buildPluginManager);
+        when(mavenProject.getRemotePluginRepositories()).thenReturn(repositories);
+        when(mavenSession.getRepositorySession()).thenReturn(repositorySession);
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Arrays.asList(compilerPlugin, deployPlugin));
+
+        doReturn(pluginService).when(rule).getPluginService(buildPluginManager, repositories, repositorySession);
+    }
+
+    @Test
+    public void executeReportsExpensiveGoals() throws Exception {
+        // given
+        stubMojoDescriptors();
+
+        // when
+        rule.execute(helper);
+
+        // then
+        verify(log).warn("DependencyResolutionRule: The Goal: \"test-compile\" of Plugin: \"com.example.group.one:example-compiler-plugin:0.0.1\" requires the resolution of the \"test\" dependencies.");
+        verify(log).warn("DependencyResolutionRule: The Goal: \"deploy\" of Plugin: \"com.example.group.two:example-deploy-plugin:0.0.1\" requires online mode.");
+        verifyNoMoreInteractions(log);
+    }
+
+    @Test
+    public void executeWithAllowlist() throws Exception {
+        // given
+        when(pluginService.getBoundMojoDescriptors(compilerPlugin)).thenReturn(Arrays.asList(
+                createMojoDescriptor("compile", "compile", false),
+                createMojoDescriptor("test-compile", "test", false)));
+        rule.allow.add(PluginCreator.create("com.example.group.two", "*", null));
+
+        // when
+        rule.execute(helper);
+
+        // then
+        verify(log).warn("DependencyResolutionRule: The Goal: \"test-compile\" of Plugin: \"com.example.group.one:example-compiler-plugin:0.0.1\" requires the resolution of the \"test\" dependencies.");
+        verifyNoMoreInteractions(log);
+    }
+
+    @Test(expected = EnforcerRuleException.class)
+    public void executeAboveMaxGoals() throws Exception {
+        // given
+        stubMojoDescriptors();
+        rule.maxGoals = 1;
+
+        // when
+        rule.execute(helper);
+
+        // then
+        // exception EnforcerRuleException is thrown
+    }
+
+    private void stubMojoDescriptors() throws Exception {
+        when(pluginService.getBoundMojoDescriptors(compilerPlugin)).thenReturn(Arrays.asList(
+                createMojoDescriptor("compile", "compile", false),
+                createMojoDescriptor("test-compile", "test", false)));
+        when(pluginService.getBoundMojoDescriptors(deployPlugin)).thenReturn(Collections.singletonList(
+                createMojoDescriptor("deploy", null, true)));
+    }
+
+    private static MojoDescriptor createMojoDescriptor(String goal, String scope, boolean online) {
+        final MojoDescriptor mojoDescriptor = new MojoDescriptor();
+        mojoDescriptor.setGoal(goal);
+        mojoDescriptor.setDependencyResolutionRequired(scope);
+        mojoDescriptor.setOnlineRequired(online);
+        return mojoDescriptor;
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.eniuv.maven.enforcer.custom.rules;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ForkedLifecycleRuleTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private MavenProject mavenProject;
+
+    @Mock
+    private MavenSession mavenSession;
+
+    @Mock
+    private BuildPluginManager buildPluginManager;
+
+    @Mock
+    private List<RemoteRepository> repositories;
+
+    @Mock
+    private RepositorySystemSession repositorySession;
+
+    @Mock
+    private EnforcerRuleHelper helper;
+
+    @Mock
+    private PluginService pluginService;
+
+    @Spy
+    private ForkedLifecycleRule rule;
+
+    private final Log log = mock(Log.class);
+    private final Plugin sourcePlugin = PluginCreator.create("com.example.group.one", "example-source-plugin", "0.0.1", Arrays.asList("jar", "jar-no-fork"));
+    private final Plugin reportPlugin = PluginCreator.create("com.example.group.two", "example-report-plugin", "0.0.1", Collections.singletonList("report"));
+
+    @Before
+    public void before() throws Exception {
+        when(helper.getLog()).thenReturn(log);
+        when(helper.evaluate("${project}")).thenReturn(mavenProject);
+        when(helper.evaluate("${session}")).thenReturn(mavenSession);
+        when(helper.getComponent(BuildPluginManager.class)).thenReturn(buildPluginManager);
+        when(mavenProject.getRemotePluginRepositories()).thenReturn(repositories);
+        when(mavenSession.getRepositorySession()).thenReturn(repositorySession);
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Arrays.asList(sourcePlugin, reportPlugin));
+
+        doReturn(pluginService).when(rule).getPluginService(buildPluginManager, repositories, repositorySession);
+    }
+
+    @Test
+    public void executeReportsForkingGoals() throws Exception {
+        // given
+        stubMojoDescriptors();
+
+        // when
+        rule.execute(helper);
+
+        // then
+        verify(log).warn("ForkedLifecycleRule: The Goal: \"jar\" of Plugin: \"com.example.group.one:example-source-plugin:0.0.1\" forks the lifecycle up to the phase \"generate-sources\".");
+        verify(log).warn("ForkedLifecycleRule: The Goal: \"report\" of Plugin: \"com.example.group.two:example-report-plugin:0.0.1\" forks the goal \"prepare\" of the lifecycle \"report\".");
+        verifyNoMoreInteractions(log);
+    }
+
+    @Test
+    public void executeWithExclusion() throws Exception {
+        // given
+        when(pluginService.getBoundMojoDescriptors(sourcePlugin)).thenReturn(Arrays.asList(
+                createMojoDescriptor("jar", "generate-sources", null, null),
+                createMojoDescriptor("jar-no-fork", null, null, null)));
+        rule.exclude.add(PluginCreator.create("com.example.group.two", "*", null));
+
+        // when
+        rule.execute(helper);
+
+        // then
+        verify(log).warn("ForkedLifecycleRule: The Goal: \"jar\" of Plugin: \"com.example.group.one:example-source-plugin:0.0.1\" forks the lifecycle up to the phase \"generate-sources\".");
+        verifyNoMoreInteractions(log);
+    }
+
+    @Test(expected = EnforcerRuleException.class)
+    public void executeFail() throws Exception {
+        // given
+        stubMojoDescriptors();
+        rule.fail = true;
+
+        // when
+        rule.execute(helper);
+
+        // then
+        // exception EnforcerRuleException is thrown
+    }
+
+    private void stubMojoDescriptors() throws Exception {
+        when(pluginService.getBoundMojoDescriptors(sourcePlugin)).thenReturn(Arrays.asList(
+                createMojoDescriptor("jar", "generate-sources", null, null),
+                createMojoDescriptor("jar-no-fork", null, null, null)));
+        when(pluginService.getBoundMojoDescriptors(reportPlugin)).thenReturn(Collections.singletonList(
+                createMojoDescriptor("report", null, "prepare", "report")));
+    }
+
+    private static MojoDescriptor createMojoDescriptor(String goal, String executePhase, String executeGoal, String executeLifecycle) {
+        final MojoDescriptor mojoDescriptor = new MojoDescriptor();
+        mojoDescriptor.setGoal(goal);
+        mojoDescriptor.setExecutePhase(executePhase);
+        mojoDescriptor.setExecuteGoal(executeGoal);
+        mojoDescriptor.setExecuteLifecycle(executeLifecycle);
+        return mojoDescriptor;
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.eniuv.maven.enforcer.custom.rules;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Test;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginAnalysis;
+import io.github.eniuv.maven.enforcer.custom.rules.session.SessionStore;
+
+/**
+ * Executes one rule from many threads over many modules, the way maven does in a parallel build.
+ */
+public class NonThreadSafePluginRuleStressTest {
+
+    private static final int PROJECTS = 400;
+    private static final int THREADS = 8;
+
+    private final Plugin safePlugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-safe", "goal-safe"));
+    private final Plugin otherSafePlugin = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1", Arrays.asList("goal-safe"));
+    private final Plugin unsafePlugin = PluginCreator.create("com.example.group.three", "example-artifact-three", "0.0.1", Arrays.asList("goal-safe", "goal-unsafe"));
+    private final Plugin mavenPlugin = PluginCreator.create("org.apache.maven.plugins", "maven-example-plugin", "0.0.1", Arrays.asList("goal-unsafe"));
+
+    @Test
+    public void executeConcurrently() throws Exception {
+        // given
+        final DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+        final MavenSession mavenSession = mock(MavenSession.class, withSettings().stubOnly());
+        when(mavenSession.getRepositorySession()).thenReturn(repositorySession);
+
+        final AtomicInteger loads = new AtomicInteger();
+        final BuildPluginManager buildPluginManager = mock(BuildPluginManager.class, withSettings().stubOnly());
+        when(buildPluginManager.loadPlugin(any(Plugin.class), any(), any(RepositorySystemSession.class))).thenAnswer(invocation -> {
+            loads.incrementAndGet();
+            return createPluginDescriptor(invocation.getArgument(0));
+        });
+
+        final Log log = mock(Log.class, withSettings().stubOnly());
+        final List<EnforcerRuleHelper> helpers = new ArrayList<>(PROJECTS);
+        for (int i = 0; i < PROJECTS; i++) {
+            final EnforcerRuleHelper helper = mock(EnforcerRuleHelper.class, withSettings().stubOnly());
+            when(helper.getLog()).thenReturn(log);
+            when(helper.evaluate("${project}")).thenReturn(createProject(i));
+            when(helper.evaluate("${session}")).thenReturn(mavenSession);
+            when(helper.getComponent(BuildPluginManager.class)).thenReturn(buildPluginManager);
+            helpers.add(helper);
+        }
+
+        final NonThreadSafePluginRule rule = new NonThreadSafePluginRule();
+        rule.parallelism = 2;
+
+        // when
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final List<Future<Boolean>> results = new ArrayList<>(PROJECTS);
+        for (EnforcerRuleHelper helper : helpers) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    rule.execute(helper);
+                    return true;
+                } catch (EnforcerRuleException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        // then
+        for (int i = 0; i < PROJECTS; i++) {
+            assertThat(results.get(i).get(30, TimeUnit.SECONDS)).as("project " + i).isEqualTo(i % 3 != 0);
+        }
+        executor.shutdown();
+
+        // the configuration of the rule is never changed and the session holds one entry per distinct input
+        assertThat(rule.exclude).isEmpty();
+        assertThat(loads).hasValue(3);
+        final PluginAnalysis analysis = PluginAnalysis.forSession(repositorySession);
+        assertThat(analysis.getThreadSafeGoalsCache().size()).isEqualTo(3);
+        assertThat(analysis.getExclusions(rule.getEffectiveExclude())).isSameAs(analysis.getExclusions(new NonThreadSafePluginRule().getEffectiveExclude()));
+        final Map<String, ?> storedResults = SessionStore.get(repositorySession, NonThreadSafePluginRule.class, "results", HashMap::new);
+        assertThat(storedResults).hasSize(3);
+    }
+
+    private MavenProject createProject(int index) {
+        final MavenProject project = new MavenProject();
+        project.setGroupId("com.example");
+        project.setArtifactId("module-" + index);
+        project.setVersion("0.0.1");
+        project.setRemoteArtifactRepositories(new ArrayList<>(0));
+        project.setPluginArtifactRepositories(new ArrayList<>(0));
+        switch (index % 3) {
+            case 0:
+                project.getBuild().setPlugins(Arrays.asList(safePlugin, unsafePlugin, mavenPlugin));
+                break;
+            case 1:
+                project.getBuild().setPlugins(Arrays.asList(safePlugin, mavenPlugin));
+                break;
+            default:
+                project.getBuild().setPlugins(Arrays.asList(safePlugin, otherSafePlugin));
+                break;
+        }
+        return project;
+    }
+
+    private static PluginDescriptor createPluginDescriptor(Plugin plugin) throws Exception {
+        final PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId(plugin.getGroupId());
+        pluginDescriptor.setArtifactId(plugin.getArtifactId());
+        pluginDescriptor.setVersion(plugin.getVersion());
+        pluginDescriptor.addMojo(createMojoDescriptor("goal-safe", true));
+        pluginDescriptor.addMojo(createMojoDescriptor("goal-unsafe", false));
+
+        return pluginDescriptor;
+    }
+
+    private static MojoDescriptor createMojoDescriptor(String goal, boolean threadSafe) {
+        final MojoDescriptor mojoDescriptor = new MojoDescriptor();
+        mojoDescriptor.setGoal(goal);
+        mojoDescriptor.setThreadSafe(threadSafe);
+        return mojoDescriptor;
+    }
+}
@@ -1,35 +1,57 @@
 package io.github.eniuv.maven.enforcer.custom.rules;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
 import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.LifeCyclePluginAnalyzer;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.BuildPluginManager;
 import org.apache.maven.plugin.MojoNotFoundException;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultSessionData;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.KnownPluginIndex;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginMetrics;
 import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginService;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -59,6 +81,9 @@ public class NonThreadSafePluginRuleTest {
     @Spy
     private NonThreadSafePluginRule rule;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Before
     public void before() throws Exception{
         when(helper.getLog()).thenReturn(mock(Log.class));
@@ -155,6 +180,483 @@ public class NonThreadSafePluginRuleTest {
         // exception EnforcerRuleException is NOT thrown
     }
 
+    @Test
+    public void executeWritesMetrics() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenReturn(new ArrayList<>(0));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(plugin));
+
+        final File directory = temporaryFolder.newFolder("target");
+        when(mavenProject.getBuild().getDirectory()).thenReturn(directory.getPath());
+        when(mavenProject.getId()).thenReturn("com.example:module:jar:0.0.1");
+
+        rule.logMetrics = true;
+        rule.writeMetrics = true;
+
+        // when
+        rule.execute(helper);
+
+        // then
+        verify(pluginService).setMetrics(any(PluginMetrics.class));
+        verify(helper.getLog()).info(startsWith("NonThreadSafePluginRule: Resolved 0 plugin descriptors"));
+        final File metricsFile = new File(directory, NonThreadSafePluginRule.METRICS_FILE);
+        assertThat(new String(Files.readAllBytes(metricsFile.toPath()), StandardCharsets.UTF_8))
+                .contains("\"module\": \"com.example:module:jar:0.0.1\"")
+                .contains("\"resultReused\": false");
+    }
+
+    @Test
+    public void executeWritesReport() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        final Plugin mavenPlugin = PluginCreator.create("org.apache.maven.plugins", "maven-site-plugin", "3.3.5", Collections.singletonList("site"));
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenReturn(Collections.singletonList("goal-two"));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Arrays.asList(plugin, mavenPlugin));
+
+        final File directory = temporaryFolder.newFolder("target");
+        when(mavenProject.getBuild().getDirectory()).thenReturn(directory.getPath());
+        when(mavenProject.getId()).thenReturn("com.example:module:jar:0.0.1");
+
+        rule.fail = false;
+        rule.reportFormat = "json";
+
+        // when
+        rule.execute(helper);
+
+        // then
+        final File reportFile = new File(directory, NonThreadSafePluginRule.REPORT_FILE + "json");
+        assertThat(new String(Files.readAllBytes(reportFile.toPath()), StandardCharsets.UTF_8)).isEqualTo("{"
+                + "\"module\":\"com.example:module:jar:0.0.1\","
+                + "\"exclusions\":[{\"plugin\":\"org.apache.maven.plugins:maven-site-plugin:3.3.5\",\"matchedBy\":[\"org.apache.maven.plugins\"]}],"
+                + "\"violations\":[{\"plugin\":\"com.example.group.one:example-artifact-one:0.0.1\",\"goal\":\"goal-two\"}]}");
+    }
+
+    @Test
+    public void executeWritesReportToConfiguredFile() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenReturn(new ArrayList<>(0));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(plugin));
+
+        final File directory = temporaryFolder.newFolder("target");
+        when(mavenProject.getBuild().getDirectory()).thenReturn(directory.getPath());
+        when(mavenProject.getId()).thenReturn("com.example:module:jar:0.0.1");
+
+        rule.reportFormat = "sarif";
+        rule.reportFile = "reports/non-thread-safe-plugins.sarif";
+
+        // when
+        rule.execute(helper);
+
+        // then
+        assertThat(new File(directory, "reports/non-thread-safe-plugins.sarif")).isFile();
+    }
+
+    @Test(expected = EnforcerRuleException.class)
+    public void executeAbsoluteReportFile() throws Exception {
+        // given
+        rule.reportFormat = "json";
+        rule.reportFile = temporaryFolder.getRoot().getAbsolutePath() + "/report.json";
+
+        // when
+        rule.execute(helper);
+
+        // then
+        // exception EnforcerRuleException is thrown
+    }
+
+    @Test
+    public void executeWithKnownPluginIndex() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Collections.singletonList("goal-one"));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(plugin));
+
+        rule.knownPluginIndex = temporaryFolder.newFile("known-plugins.idx");
+        try (OutputStream outputStream = new FileOutputStream(rule.knownPluginIndex)) {
+            KnownPluginIndex.write(new LinkedHashMap<>(), outputStream);
+        }
+
+        // when
+        rule.execute(helper);
+
+        // then
+        verify(pluginService).setKnownPluginIndex(any(KnownPluginIndex.class));
+    }
+
+    @Test(expected = EnforcerRuleException.class)
+    public void executeUnreadableKnownPluginIndex() throws Exception {
+        // given
+        rule.knownPluginIndex = new File(temporaryFolder.getRoot(), "missing.idx");
+
+        // when
+        rule.execute(helper);
+
+        // then
+        // exception EnforcerRuleException is thrown
+    }
+
+    @Test
+    public void getPomPath() {
+        // given
+        final MavenProject module = new MavenProject();
+        module.setFile(new File(temporaryFolder.getRoot(), "module-one/pom.xml"));
+        when(mavenSession.getExecutionRootDirectory()).thenReturn(temporaryFolder.getRoot().getPath());
+
+        // when
+        final String pomPath = NonThreadSafePluginRule.getPomPath(mavenSession, module);
+
+        // then
+        assertThat(pomPath).isEqualTo("module-one/pom.xml");
+    }
+
+    @Test(expected = EnforcerRuleException.class)
+    public void executeUnknownReportFormat() throws Exception {
+        // given
+        rule.reportFormat = "xml";
+
+        // when
+        rule.execute(helper);
+
+        // then
+        // exception EnforcerRuleException is thrown
+    }
+
+    @Test
+    public void executeIncrementalSkipsUnchangedPlugins() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenReturn(new ArrayList<>(0));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(plugin));
+        when(mavenProject.getBuild().getDirectory()).thenReturn(temporaryFolder.getRoot().getPath());
+
+        rule.incremental = true;
+        final NonThreadSafePluginRule secondRule = createIncrementalRule();
+
+        // when
+        rule.execute(helper);
+        secondRule.execute(helper);
+
+        // then
+        verify(pluginService, times(1)).getNonThreadSafeGoals(plugin);
+        assertThat(new File(temporaryFolder.getRoot(), NonThreadSafePluginRule.FINGERPRINT_FILE)).exists();
+    }
+
+    @Test
+    public void executeIncrementalWritesReportOfSkippedModule() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        final Plugin mavenPlugin = PluginCreator.create("org.apache.maven.plugins", "maven-site-plugin", "3.3.5", Collections.singletonList("site"));
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenReturn(new ArrayList<>(0));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Arrays.asList(plugin, mavenPlugin));
+        when(mavenProject.getBuild().getDirectory()).thenReturn(temporaryFolder.getRoot().getPath());
+        when(mavenProject.getId()).thenReturn("com.example:module:jar:0.0.1");
+
+        rule.incremental = true;
+        final NonThreadSafePluginRule secondRule = createIncrementalRule();
+        secondRule.reportFormat = "json";
+
+        // when
+        rule.execute(helper);
+        secondRule.execute(helper);
+
+        // then
+        verify(pluginService, times(1)).getNonThreadSafeGoals(plugin);
+        final File reportFile = new File(temporaryFolder.getRoot(), NonThreadSafePluginRule.REPORT_FILE + "json");
+        assertThat(new String(Files.readAllBytes(reportFile.toPath()), StandardCharsets.UTF_8)).isEqualTo("{"
+                + "\"module\":\"com.example:module:jar:0.0.1\","
+                + "\"exclusions\":[{\"plugin\":\"org.apache.maven.plugins:maven-site-plugin:3.3.5\",\"matchedBy\":[\"org.apache.maven.plugins\"]}],"
+                + "\"violations\":[]}");
+    }
+
+    @Test
+    public void executeIncrementalChecksChangedPlugins() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenReturn(new ArrayList<>(0));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(plugin));
+        when(mavenProject.getBuild().getDirectory()).thenReturn(temporaryFolder.getRoot().getPath());
+
+        rule.incremental = true;
+        final NonThreadSafePluginRule secondRule = createIncrementalRule();
+
+        // when
+        rule.execute(helper);
+        plugin.setVersion("0.0.2");
+        secondRule.execute(helper);
+
+        // then
+        verify(pluginService, times(2)).getNonThreadSafeGoals(plugin);
+    }
+
+    @Test
+    public void executeIncrementalChecksSnapshotPlugins() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1-SNAPSHOT", Arrays.asList("goal-one", "goal-two"));
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenReturn(new ArrayList<>(0));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(plugin));
+        when(mavenProject.getBuild().getDirectory()).thenReturn(temporaryFolder.getRoot().getPath());
+
+        rule.incremental = true;
+        final NonThreadSafePluginRule secondRule = createIncrementalRule();
+
+        // when
+        rule.execute(helper);
+        secondRule.execute(helper);
+
+        // then
+        verify(pluginService, times(2)).getNonThreadSafeGoals(plugin);
+    }
+
+    @Test
+    public void executeIncrementalDoesNotStoreFailures() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenReturn(Collections.singletonList("goal-two"));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(plugin));
+        when(mavenProject.getBuild().getDirectory()).thenReturn(temporaryFolder.getRoot().getPath());
+
+        rule.fail = false;
+        rule.incremental = true;
+
+        // when
+        rule.execute(helper);
+
+        // then
+        assertThat(new File(temporaryFolder.getRoot(), NonThreadSafePluginRule.FINGERPRINT_FILE)).doesNotExist();
+    }
+
+    @Test
+    public void executeInParallel() throws Exception {
+        // given
+        final Plugin pluginOne = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("one-goal-one", "one-goal-two"));
+        when(pluginService.getNonThreadSafeGoals(pluginOne)).thenReturn(Collections.singletonList("one-goal-two"));
+
+        final Plugin pluginTwo = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1", Arrays.asList("two-goal-one", "two-goal-two"));
+        when(pluginService.getNonThreadSafeGoals(pluginTwo)).thenReturn(new ArrayList<>(0));
+
+        final Plugin pluginThree = PluginCreator.create("com.example.group.three", "example-artifact-three", "0.0.1", Arrays.asList("three-goal-one", "three-goal-two"));
+        when(pluginService.getNonThreadSafeGoals(pluginThree)).thenReturn(Collections.singletonList("three-goal-one"));
+
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Arrays.asList(pluginOne, pluginTwo, pluginThree));
+
+        final Log log = mock(Log.class);
+        when(helper.getLog()).thenReturn(log);
+
+        rule.parallelism = 4;
+        rule.fail = false;
+
+        // when
+        rule.execute(helper);
+
+        // then
+        final InOrder inOrder = inOrder(log);
+        inOrder.verify(log).error("The Goal: \"one-goal-two\" of Plugin: \"com.example.group.one:example-artifact-one:0.0.1\" is not thread safe.");
+        inOrder.verify(log).error("The Goal: \"three-goal-one\" of Plugin: \"com.example.group.three:example-artifact-three:0.0.1\" is not thread safe.");
+    }
+
+    @Test
+    public void executeInvalidParallelism() throws Exception {
+        // given
+        rule.parallelism = 0;
+
+        // when
+        try {
+            rule.execute(helper);
+            fail("EnforcerRuleException expected");
+        } catch (EnforcerRuleException e) {
+            // then
+            assertThat(e).hasMessage("The parallelism must be at least 1, it is 0.");
+        }
+        verifyZeroInteractions(pluginService);
+    }
+
+    @Test
+    public void executeFailFast() throws Exception {
+        // given
+        final Plugin pluginOne = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(pluginService.getNonThreadSafeGoals(pluginOne)).thenReturn(Collections.singletonList("goal-two"));
+
+        final Plugin pluginTwo = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Arrays.asList(pluginOne, pluginTwo));
+
+        rule.failFast = true;
+
+        // when
+        try {
+            rule.execute(helper);
+        } catch (EnforcerRuleException e) {
+            // expected
+        }
+
+        // then
+        verify(pluginService, times(1)).getNonThreadSafeGoals(pluginOne);
+        verify(pluginService, times(0)).getNonThreadSafeGoals(pluginTwo);
+    }
+
+    @Test
+    public void executeFailFastInParallel() throws Exception {
+        // given
+        final Plugin pluginOne = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        final Plugin pluginTwo = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Arrays.asList(pluginOne, pluginTwo));
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        when(pluginService.getNonThreadSafeGoals(pluginOne)).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return new ArrayList<>(0);
+        });
+        when(pluginService.getNonThreadSafeGoals(pluginTwo)).thenAnswer(invocation -> {
+            // the violation is found while the lookup of the first plugin is running
+            started.await(10, TimeUnit.SECONDS);
+            return Collections.singletonList("goal-two");
+        });
+
+        rule.parallelism = 2;
+        rule.failFast = true;
+
+        // when
+        try {
+            rule.execute(helper);
+        } catch (EnforcerRuleException e) {
+            // expected
+        }
+
+        // then
+        assertThat(interrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test(expected = EnforcerRuleException.class)
+    public void executeWithLifecycleBindings() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Collections.singletonList("goal-one"));
+        final Plugin boundPlugin = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1", Collections.singletonList("goal-one"));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(plugin));
+        when(mavenProject.getPackaging()).thenReturn("jar");
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenReturn(new ArrayList<>(0));
+        when(pluginService.getNonThreadSafeGoals(boundPlugin)).thenReturn(Collections.singletonList("goal-one"));
+
+        final LifeCyclePluginAnalyzer lifecyclePluginAnalyzer = mock(LifeCyclePluginAnalyzer.class);
+        when(lifecyclePluginAnalyzer.getPluginsBoundByDefaultToAllLifecycles("jar")).thenReturn(Collections.singleton(boundPlugin));
+        when(helper.getComponent(LifeCyclePluginAnalyzer.class)).thenReturn(lifecyclePluginAnalyzer);
+
+        // when
+        rule.execute(helper);
+
+        // then
+        // exception EnforcerRuleException is thrown for the goal bound by the packaging
+    }
+
+    @Test
+    public void executeLookupTimeout() throws Exception {
+        // given
+        final Plugin pluginOne = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        final Plugin pluginTwo = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Arrays.asList(pluginOne, pluginTwo));
+
+        when(pluginService.getNonThreadSafeGoals(pluginOne)).thenAnswer(invocation -> {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return new ArrayList<>(0);
+        });
+        when(pluginService.getNonThreadSafeGoals(pluginTwo)).thenReturn(Collections.singletonList("goal-two"));
+
+        final Log log = mock(Log.class);
+        when(helper.getLog()).thenReturn(log);
+
+        rule.fail = false;
+        rule.parallelism = 2;
+        rule.lookupTimeout = 100;
+
+        // when
+        rule.execute(helper);
+
+        // then
+        verify(log).warn("NonThreadSafePluginRule: The lookup of Plugin: \"com.example.group.one:example-artifact-one:0.0.1\" timed out, the thread safety of its goals is unknown.");
+        verify(log).error("The Goal: \"goal-two\" of Plugin: \"com.example.group.two:example-artifact-two:0.0.1\" is not thread safe.");
+    }
+
+    @Test
+    public void executeLookupTimeoutInvalidParallelism() throws Exception {
+        // given
+        rule.parallelism = 0;
+        rule.lookupTimeout = 1000;
+        rule.timeBudget = 1000;
+
+        // when
+        try {
+            rule.execute(helper);
+            fail("EnforcerRuleException expected");
+        } catch (EnforcerRuleException e) {
+            // then
+            assertThat(e).hasMessage("The parallelism must be at least 1, it is 0.");
+        }
+        verifyZeroInteractions(pluginService);
+    }
+
+    @Test(expected = EnforcerRuleException.class)
+    public void executeNegativeTimeBudget() throws Exception {
+        // given
+        rule.timeBudget = -1;
+
+        // when
+        rule.execute(helper);
+
+        // then
+        // exception EnforcerRuleException is thrown
+    }
+
+    @Test
+    public void executeTimeBudgetFailOnTimeout() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(plugin));
+
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenAnswer(invocation -> {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            return new ArrayList<>(0);
+        });
+
+        final Log log = mock(Log.class);
+        when(helper.getLog()).thenReturn(log);
+
+        rule.timeBudget = 100;
+        rule.failOnTimeout = true;
+
+        // when
+        try {
+            rule.execute(helper);
+            fail("EnforcerRuleException is thrown");
+        } catch (EnforcerRuleException e) {
+            // then
+            assertThat(e).hasMessage("The thread safety of some plugins is unknown because their lookup timed out.");
+        }
+        verify(log).error("NonThreadSafePluginRule: The lookup of Plugin: \"com.example.group.one:example-artifact-one:0.0.1\" timed out, the thread safety of its goals is unknown.");
+    }
+
+    @Test(expected = EnforcerRuleException.class)
+    public void repackageExceptionsInParallel() throws Exception {
+        // given
+        final Plugin pluginOne = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        final Plugin pluginTwo = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Arrays.asList(pluginOne, pluginTwo));
+
+        when(pluginService.getNonThreadSafeGoals(any())).thenThrow(MojoNotFoundException.class);
+
+        rule.parallelism = 2;
+
+        // when
+        rule.execute(helper);
+
+        // then
+        // the exception MojoNotFoundException thrown by a worker thread will be repackage into the exception EnforcerRuleException
+    }
+
     @Test(expected = EnforcerRuleException.class)
     public void repackageExceptions() throws Exception {
         // given
@@ -171,9 +673,150 @@ public class NonThreadSafePluginRuleTest {
     }
 
     @Test
-    public void cacheNotEnabled() {
+    public void isNotCacheable() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(plugin));
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenReturn(new ArrayList<>(0));
+
+        // when
+        rule.execute(helper);
+
+        // then
+        // the result of one module must never be reused by another module through the enforcer cache
         assertThat(rule.getCacheId()).isNull();
         assertThat(rule.isCacheable()).isFalse();
-        assertThat(rule.isResultValid(null)).isFalse();
+        assertThat(rule.isResultValid(rule)).isFalse();
+    }
+
+    @Test
+    public void computeCacheId() {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        final List<Plugin> plugins = Collections.singletonList(plugin);
+        final Plugin otherPlugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.2", Arrays.asList("goal-one", "goal-two"));
+
+        final NonThreadSafePluginRule sameRule = new NonThreadSafePluginRule();
+        final NonThreadSafePluginRule otherRule = new NonThreadSafePluginRule();
+        otherRule.exclude.add(PluginCreator.create("com.example.group.two", null, null));
+        final NonThreadSafePluginRule otherSourceRule = new NonThreadSafePluginRule();
+        otherSourceRule.readPluginXml = true;
+        final NonThreadSafePluginRule otherBindingsRule = new NonThreadSafePluginRule();
+        otherBindingsRule.lifecycleBindings = false;
+
+        // when
+        final String cacheId = rule.computeCacheId(plugins);
+
+        // then
+        assertThat(cacheId).isEqualTo(sameRule.computeCacheId(plugins));
+        assertThat(cacheId).isNotEqualTo(otherRule.computeCacheId(plugins));
+        assertThat(cacheId).isNotEqualTo(otherSourceRule.computeCacheId(plugins));
+        assertThat(cacheId).isNotEqualTo(otherBindingsRule.computeCacheId(plugins));
+        assertThat(cacheId).isNotEqualTo(rule.computeCacheId(Collections.singletonList(otherPlugin)));
+    }
+
+    @Test
+    public void resultReusedForSamePlugins() throws Exception {
+        // given
+        when(repositorySession.getData()).thenReturn(new DefaultSessionData());
+
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(plugin));
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenReturn(Collections.singletonList("goal-two"));
+
+        rule.fail = false;
+        final NonThreadSafePluginRule secondRule = spy(new NonThreadSafePluginRule());
+        secondRule.fail = false;
+        doReturn(pluginService).when(secondRule).getPluginService(buildPluginManager, repositories, repositorySession);
+
+        // when
+        rule.execute(helper);
+        secondRule.execute(helper);
+
+        // then
+        verify(pluginService, times(1)).getNonThreadSafeGoals(plugin);
+    }
+
+    @Test
+    public void executeInReactorMode() throws Exception {
+        // given
+        when(repositorySession.getData()).thenReturn(new DefaultSessionData());
+
+        final Plugin sharedPlugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        final Plugin modulePlugin = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1", Collections.singletonList("goal-one"));
+        when(pluginService.getNonThreadSafeGoals(sharedPlugin)).thenReturn(Collections.singletonList("goal-two"));
+        when(pluginService.getNonThreadSafeGoals(modulePlugin)).thenReturn(new ArrayList<>(0));
+
+        when(mavenProject.getId()).thenReturn("com.example:module-one:jar:0.0.1");
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(sharedPlugin));
+
+        final MavenProject moduleTwo = new MavenProject();
+        moduleTwo.setGroupId("com.example");
+        moduleTwo.setArtifactId("module-two");
+        moduleTwo.setVersion("0.0.1");
+        moduleTwo.getBuild().setPlugins(Arrays.asList(sharedPlugin, modulePlugin));
+        when(mavenSession.getProjects()).thenReturn(Arrays.asList(mavenProject, moduleTwo));
+
+        final Log secondLog = mock(Log.class);
+        final EnforcerRuleHelper secondHelper = mock(EnforcerRuleHelper.class);
+        when(secondHelper.getLog()).thenReturn(secondLog);
+        when(secondHelper.evaluate("${project}")).thenReturn(moduleTwo);
+        when(secondHelper.evaluate("${session}")).thenReturn(mavenSession);
+        when(secondHelper.getComponent(BuildPluginManager.class)).thenReturn(buildPluginManager);
+
+        rule.fail = false;
+        rule.reactorMode = true;
+        final NonThreadSafePluginRule secondRule = spy(new NonThreadSafePluginRule());
+        secondRule.fail = false;
+        secondRule.reactorMode = true;
+        doReturn(pluginService).when(secondRule).getPluginService(any(), any(), any());
+
+        // when
+        rule.execute(helper);
+        secondRule.execute(secondHelper);
+
+        // then
+        verify(pluginService, times(1)).getNonThreadSafeGoals(sharedPlugin);
+        verify(pluginService, times(1)).getNonThreadSafeGoals(modulePlugin);
+        verify(helper.getLog()).info("NonThreadSafePluginRule: Exclude \"org.apache.maven.plugins\".");
+        verify(helper.getLog()).error("The Goal: \"goal-two\" of Plugin: \"com.example.group.one:example-artifact-one:0.0.1\" is not thread safe.");
+        verify(secondLog).error("The Goal: \"goal-two\" of Plugin: \"com.example.group.one:example-artifact-one:0.0.1\" is not thread safe.");
+        verify(secondLog, times(0)).info(startsWith("NonThreadSafePluginRule: Exclude"));
+    }
+
+    @Test
+    public void executeInReactorModeAnalyzesEveryConfiguration() throws Exception {
+        // given
+        when(repositorySession.getData()).thenReturn(new DefaultSessionData());
+
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+        when(pluginService.getNonThreadSafeGoals(plugin)).thenReturn(new ArrayList<>(0));
+        when(mavenProject.getId()).thenReturn("com.example:module-one:jar:0.0.1");
+        when(mavenProject.getBuild().getPlugins()).thenReturn(Collections.singletonList(plugin));
+        when(mavenSession.getProjects()).thenReturn(Collections.singletonList(mavenProject));
+
+        rule.reactorMode = true;
+        final NonThreadSafePluginRule sameRule = spy(new NonThreadSafePluginRule());
+        sameRule.reactorMode = true;
+        doReturn(pluginService).when(sameRule).getPluginService(buildPluginManager, repositories, repositorySession);
+        final NonThreadSafePluginRule otherSourceRule = spy(new NonThreadSafePluginRule());
+        otherSourceRule.reactorMode = true;
+        otherSourceRule.readPluginXml = true;
+        doReturn(pluginService).when(otherSourceRule).getPluginService(buildPluginManager, repositories, repositorySession);
+
+        // when
+        rule.execute(helper);
+        sameRule.execute(helper);
+        otherSourceRule.execute(helper);
+
+        // then
+        verify(pluginService, times(2)).getNonThreadSafeGoals(plugin);
+    }
+
+    private NonThreadSafePluginRule createIncrementalRule() {
+        final NonThreadSafePluginRule incrementalRule = spy(new NonThreadSafePluginRule());
+        incrementalRule.incremental = true;
+        doReturn(pluginService).when(incrementalRule).getPluginService(buildPluginManager, repositories, repositorySession);
+        return incrementalRule;
     }
-}
\ No newline at end of file
+}
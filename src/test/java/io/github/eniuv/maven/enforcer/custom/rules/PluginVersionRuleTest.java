@@ -0,0 +1,199 @@
+package io.github.eniuv.maven.enforcer.custom.rules;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.assertj.core.api.Assertions;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PluginVersionRuleTest {
+
+    @Mock
+    private MavenSession mavenSession;
+
+    @Mock
+    private RepositorySystemSession repositorySession;
+
+    @Mock
+    private EnforcerRuleHelper helper;
+
+    private final PluginVersionRule rule = new PluginVersionRule();
+
+    private final Log log = mock(Log.class);
+    private final Plugin releasedPlugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1");
+    private final Plugin snapshotPlugin = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.2-SNAPSHOT");
+    private final Plugin unversionedPlugin = PluginCreator.create("com.example.group.three", "example-artifact-three", null);
+
+    private MavenProject api;
+
+    @Before
+    public void before() throws Exception {
+        api = createProject("api", releasedPlugin, snapshotPlugin, unversionedPlugin);
+        final MavenProject core = createProject("core", releasedPlugin, snapshotPlugin);
+        final MavenProject web = createProject("web", releasedPlugin);
+
+        when(helper.getLog()).thenReturn(log);
+        when(helper.evaluate("${project}")).thenReturn(api);
+        when(helper.evaluate("${session}")).thenReturn(mavenSession);
+        when(mavenSession.getRepositorySession()).thenReturn(repositorySession);
+        when(mavenSession.getProjects()).thenReturn(Arrays.asList(api, core, web));
+    }
+
+    @Test
+    public void executeReportsPluginsWithoutFixedVersion() throws Exception {
+        // given
+        rule.fail = false;
+
+        // when
+        rule.execute(helper);
+
+        // then
+        verify(log).error("PluginVersionRule: The Plugin: \"com.example.group.two:example-artifact-two:0.0.2-SNAPSHOT\" does not have a fixed version.");
+        verify(log).error("PluginVersionRule: The Plugin: \"com.example.group.three:example-artifact-three\" does not have a version.");
+        verify(log).info("PluginVersionRule: Plugins without a fixed version cause 3 remote metadata lookups in 2 modules of the reactor.");
+        verifyNoMoreInteractions(log);
+    }
+
+    @Test(expected = EnforcerRuleException.class)
+    public void executeFail() throws Exception {
+        // when
+        rule.execute(helper);
+
+        // then
+        // exception EnforcerRuleException is thrown
+    }
+
+    @Test
+    public void executeWithExclusion() throws Exception {
+        // given
+        rule.exclude.add(PluginCreator.create("com.example.group.*", null, null));
+
+        // when
+        rule.execute(helper);
+
+        // then
+        verifyNoMoreInteractions(log);
+    }
+
+    @Test
+    public void executeReadsDeclaredVersions() throws Exception {
+        // given
+        rule.fail = false;
+
+        // the versions of the effective model are filled in by maven
+        final MavenProject parent = createProject("parent");
+        parent.setOriginalModel(createModel("parent"));
+        parent.getOriginalModel().getBuild().setPluginManagement(new PluginManagement());
+        parent.getOriginalModel().getBuild().getPluginManagement().addPlugin(PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"));
+
+        final MavenProject module = createProject("module",
+                PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"),
+                PluginCreator.create("com.example.group.three", "example-artifact-three", "1.0.0"),
+                PluginCreator.create("org.apache.maven.plugins", "maven-compiler-plugin", "3.1"));
+        module.setParent(parent);
+        module.setOriginalModel(createModel("module"));
+        module.getOriginalModel().getBuild().addPlugin(PluginCreator.create("com.example.group.one", "example-artifact-one", null));
+        module.getOriginalModel().getBuild().addPlugin(PluginCreator.create("com.example.group.three", "example-artifact-three", null));
+
+        when(helper.evaluate("${project}")).thenReturn(module);
+        when(mavenSession.getProjects()).thenReturn(Arrays.asList(parent, module));
+
+        // when
+        rule.execute(helper);
+
+        // then
+        verify(log).error("PluginVersionRule: The Plugin: \"com.example.group.three:example-artifact-three\" does not have a version.");
+        verify(log).info("PluginVersionRule: Plugins without a fixed version cause 1 remote metadata lookups in 1 modules of the reactor.");
+        verifyNoMoreInteractions(log);
+    }
+
+    @Test
+    public void executeReadsVersionsManagedOutsideOfReactor() throws Exception {
+        // given
+        rule.fail = false;
+
+        // the parent that manages the version is not part of the reactor, only the effective model has its plugin management
+        final MavenProject module = createProject("module",
+                PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"));
+        module.getBuild().setPluginManagement(new PluginManagement());
+        module.getBuild().getPluginManagement().addPlugin(PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"));
+        module.setOriginalModel(createModel("module"));
+        module.getOriginalModel().getBuild().addPlugin(PluginCreator.create("com.example.group.one", "example-artifact-one", null));
+
+        when(helper.evaluate("${project}")).thenReturn(module);
+
+        // when
+        rule.execute(helper);
+
+        // then
+        verifyNoMoreInteractions(log);
+    }
+
+    @Test
+    public void executeCountsReactorOnce() throws Exception {
+        // given
+        rule.fail = false;
+        when(repositorySession.getData()).thenReturn(new DefaultSessionData());
+        final PluginVersionRule otherRule = new PluginVersionRule();
+        otherRule.fail = false;
+
+        // when
+        rule.execute(helper);
+        otherRule.execute(helper);
+
+        // then
+        verify(log, times(2)).info("PluginVersionRule: Plugins without a fixed version cause 3 remote metadata lookups in 2 modules of the reactor.");
+        verify(mavenSession, times(1)).getProjects();
+    }
+
+    @Test
+    public void isFixedVersion() {
+        Assertions.assertThat(PluginVersionRule.isFixedVersion("1.0.0")).isTrue();
+        Assertions.assertThat(PluginVersionRule.isFixedVersion("1.0.0-SNAPSHOT")).isFalse();
+        Assertions.assertThat(PluginVersionRule.isFixedVersion("1.0.0-20181010.101010-1")).isFalse();
+        Assertions.assertThat(PluginVersionRule.isFixedVersion("LATEST")).isFalse();
+        Assertions.assertThat(PluginVersionRule.isFixedVersion("RELEASE")).isFalse();
+        Assertions.assertThat(PluginVersionRule.isFixedVersion("")).isFalse();
+        Assertions.assertThat(PluginVersionRule.isFixedVersion(null)).isFalse();
+    }
+
+    private static Model createModel(String artifactId) {
+        final Model model = new Model();
+        model.setGroupId("com.example");
+        model.setArtifactId(artifactId);
+        model.setBuild(new Build());
+        return model;
+    }
+
+    private static MavenProject createProject(String artifactId, Plugin... plugins) {
+        final MavenProject project = new MavenProject();
+        project.setGroupId("com.example");
+        project.setArtifactId(artifactId);
+        project.setVersion("0.0.1");
+        project.getBuild().setPlugins(Arrays.asList(plugins));
+        return project;
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.eniuv.maven.enforcer.custom.rules;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.maven.enforcer.rule.api.EnforcerRuleException;
+import org.apache.maven.enforcer.rule.api.EnforcerRuleHelper;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReactorParallelismRuleTest {
+
+    @Mock
+    private MavenSession mavenSession;
+
+    @Mock
+    private BuildPluginManager buildPluginManager;
+
+    @Mock
+    private RepositorySystemSession repositorySession;
+
+    @Mock
+    private EnforcerRuleHelper helper;
+
+    @Mock
+    private PluginService pluginService;
+
+    @Spy
+    private ReactorParallelismRule rule;
+
+    private final Log log = mock(Log.class);
+    private final Plugin threadSafePlugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Collections.singletonList("goal-one"));
+    private final Plugin nonThreadSafePlugin = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1", Collections.singletonList("goal-one"));
+
+    @Before
+    public void before() throws Exception {
+        final MavenProject api = createProject("api", threadSafePlugin);
+        final MavenProject core = createProject("core", nonThreadSafePlugin);
+        final MavenProject web = createProject("web", nonThreadSafePlugin);
+
+        when(helper.getLog()).thenReturn(log);
+        when(helper.evaluate("${project}")).thenReturn(api);
+        when(helper.evaluate("${session}")).thenReturn(mavenSession);
+        when(helper.getComponent(BuildPluginManager.class)).thenReturn(buildPluginManager);
+        when(mavenSession.getRepositorySession()).thenReturn(repositorySession);
+        when(mavenSession.getProjects()).thenReturn(Arrays.asList(api, core, web));
+
+        when(pluginService.getNonThreadSafeGoals(threadSafePlugin)).thenReturn(new ArrayList<>(0));
+        when(pluginService.getNonThreadSafeGoals(nonThreadSafePlugin)).thenReturn(Collections.singletonList("goal-one"));
+        doReturn(pluginService).when(rule).getPluginService(buildPluginManager, api.getRemotePluginRepositories(), repositorySession);
+    }
+
+    @Test
+    public void executeReportsParallelism() throws Exception {
+        // when
+        rule.execute(helper);
+
+        // then
+        verify(log).info("ReactorParallelismRule: 3 modules, critical path: 1 modules, maximum width: 3 modules, modules with non thread safe goals: 2.");
+        verify(log).info("ReactorParallelismRule: Recommended -T 2, theoretical speedup: 1.50x.");
+    }
+
+    @Test(expected = EnforcerRuleException.class)
+    public void executeBelowMinSpeedup() throws Exception {
+        // given
+        rule.minSpeedup = 2;
+
+        // when
+        rule.execute(helper);
+
+        // then
+        // exception EnforcerRuleException is thrown
+    }
+
+    @Test
+    public void executeAnalyzesReactorOncePerConfiguration() throws Exception {
+        // given
+        when(repositorySession.getData()).thenReturn(new DefaultSessionData());
+
+        // when
+        rule.execute(helper);
+        rule.execute(helper);
+        rule.minSpeedup = 1;
+        rule.execute(helper);
+
+        // then
+        verify(pluginService, times(2)).getNonThreadSafeGoals(threadSafePlugin);
+    }
+
+    private static MavenProject createProject(String artifactId, Plugin plugin) {
+        final MavenProject project = new MavenProject();
+        project.setGroupId("com.example");
+        project.setArtifactId(artifactId);
+        project.setVersion("0.0.1");
+        project.getBuild().setPlugins(Collections.singletonList(plugin));
+        return project;
+    }
+}
@@ -0,0 +1,272 @@
+package io.github.eniuv.maven.enforcer.custom.rules.extension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.lifecycle.LifeCyclePluginAnalyzer;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import io.github.eniuv.maven.enforcer.custom.rules.NonThreadSafePluginRule;
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginAnalysis;
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PluginPrefetchParticipantTest {
+
+    @Mock
+    private MavenSession mavenSession;
+
+    @Mock
+    private BuildPluginManager buildPluginManager;
+
+    @Mock
+    private LifeCyclePluginAnalyzer lifecyclePluginAnalyzer;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+    private final Properties userProperties = new Properties();
+
+    private final Plugin pluginOne = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Collections.singletonList("goal-one"));
+    private final Plugin pluginTwo = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1", Arrays.asList("goal-one", "goal-two"));
+    private final Plugin mavenPlugin = PluginCreator.create("org.apache.maven.plugins", "maven-example-plugin", "0.0.1", Collections.singletonList("goal-one"));
+
+    private final Xpp3Dom ruleConfiguration = createRuleConfiguration();
+
+    private PluginPrefetchParticipant participant;
+
+    @Before
+    public void before() throws Exception {
+        when(mavenSession.getUserProperties()).thenReturn(userProperties);
+        when(mavenSession.getProjects()).thenReturn(Arrays.asList(
+                createProject("api", pluginOne, mavenPlugin, createEnforcerPlugin(ruleConfiguration)),
+                createProject("core", pluginOne, pluginTwo)));
+
+        participant = new PluginPrefetchParticipant(buildPluginManager, lifecyclePluginAnalyzer);
+    }
+
+    @Test
+    public void afterProjectsReadPrefetchesPlugins() throws Exception {
+        // given
+        when(mavenSession.getRepositorySession()).thenReturn(repositorySession);
+        when(buildPluginManager.loadPlugin(any(Plugin.class), any(), any(RepositorySystemSession.class)))
+                .thenAnswer(invocation -> createPluginDescriptor(invocation.getArgument(0)));
+
+        // when
+        participant.afterProjectsRead(mavenSession);
+
+        // then
+        assertThat(participant.awaitPrefetch(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(PluginAnalysis.forSession(repositorySession).getThreadSafeGoalsCache().size()).isEqualTo(2);
+        verify(buildPluginManager, times(1)).loadPlugin(eq(pluginOne), any(), any(RepositorySystemSession.class));
+        verify(buildPluginManager, times(1)).loadPlugin(eq(pluginTwo), any(), any(RepositorySystemSession.class));
+        verify(buildPluginManager, never()).loadPlugin(eq(mavenPlugin), any(), any(RepositorySystemSession.class));
+    }
+
+    @Test
+    public void prefetchedVerdictsAreReused() throws Exception {
+        // given
+        when(mavenSession.getRepositorySession()).thenReturn(repositorySession);
+        when(buildPluginManager.loadPlugin(any(Plugin.class), any(), any(RepositorySystemSession.class)))
+                .thenAnswer(invocation -> createPluginDescriptor(invocation.getArgument(0)));
+        participant.afterProjectsRead(mavenSession);
+        assertThat(participant.awaitPrefetch(10, TimeUnit.SECONDS)).isTrue();
+
+        final PluginService pluginService = PluginAnalysis.forSession(repositorySession).createPluginService(buildPluginManager, null);
+
+        // when
+        final List<String> nonThreadSafeGoals = pluginService.getNonThreadSafeGoals(pluginTwo);
+
+        // then
+        assertThat(nonThreadSafeGoals).containsExactly("goal-two");
+        verify(buildPluginManager, times(1)).loadPlugin(eq(pluginTwo), any(), any(RepositorySystemSession.class));
+    }
+
+    @Test
+    public void afterProjectsReadUsesRuleExclusions() throws Exception {
+        // given
+        addChild(ruleConfiguration, "excludeMavenPlugins", "false");
+        final Xpp3Dom exclude = new Xpp3Dom("exclude");
+        final Xpp3Dom excludedPlugin = new Xpp3Dom("plugin");
+        addChild(excludedPlugin, "groupId", pluginTwo.getGroupId());
+        exclude.addChild(excludedPlugin);
+        ruleConfiguration.addChild(exclude);
+        when(mavenSession.getRepositorySession()).thenReturn(repositorySession);
+        when(buildPluginManager.loadPlugin(any(Plugin.class), any(), any(RepositorySystemSession.class)))
+                .thenAnswer(invocation -> createPluginDescriptor(invocation.getArgument(0)));
+
+        // when
+        participant.afterProjectsRead(mavenSession);
+
+        // then
+        assertThat(participant.awaitPrefetch(10, TimeUnit.SECONDS)).isTrue();
+        verify(buildPluginManager, times(1)).loadPlugin(eq(pluginOne), any(), any(RepositorySystemSession.class));
+        verify(buildPluginManager, never()).loadPlugin(eq(pluginTwo), any(), any(RepositorySystemSession.class));
+        verify(buildPluginManager, times(1)).loadPlugin(eq(mavenPlugin), any(), any(RepositorySystemSession.class));
+    }
+
+    @Test
+    public void afterProjectsReadPrefetchesPluginsBoundByPackaging() throws Exception {
+        // given
+        final Plugin boundPlugin = PluginCreator.create("com.example.group.three", "example-artifact-three", "0.0.1", Collections.singletonList("goal-one"));
+        when(lifecyclePluginAnalyzer.getPluginsBoundByDefaultToAllLifecycles("jar")).thenReturn(Collections.singleton(boundPlugin));
+        when(mavenSession.getRepositorySession()).thenReturn(repositorySession);
+        when(buildPluginManager.loadPlugin(any(Plugin.class), any(), any(RepositorySystemSession.class)))
+                .thenAnswer(invocation -> createPluginDescriptor(invocation.getArgument(0)));
+
+        // when
+        participant.afterProjectsRead(mavenSession);
+
+        // then
+        assertThat(participant.awaitPrefetch(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(PluginAnalysis.forSession(repositorySession).getThreadSafeGoalsCache().size()).isEqualTo(3);
+        verify(buildPluginManager, times(1)).loadPlugin(eq(boundPlugin), any(), any(RepositorySystemSession.class));
+    }
+
+    @Test
+    public void afterProjectsReadWithoutLifecycleBindings() throws Exception {
+        // given
+        addChild(ruleConfiguration, "lifecycleBindings", "false");
+        when(mavenSession.getRepositorySession()).thenReturn(repositorySession);
+        when(buildPluginManager.loadPlugin(any(Plugin.class), any(), any(RepositorySystemSession.class)))
+                .thenAnswer(invocation -> createPluginDescriptor(invocation.getArgument(0)));
+
+        // when
+        participant.afterProjectsRead(mavenSession);
+
+        // then
+        assertThat(participant.awaitPrefetch(10, TimeUnit.SECONDS)).isTrue();
+        verifyZeroInteractions(lifecyclePluginAnalyzer);
+        verify(buildPluginManager, times(2)).loadPlugin(any(Plugin.class), any(), any(RepositorySystemSession.class));
+    }
+
+    @Test
+    public void afterProjectsReadStoresVerdicts() throws Exception {
+        // given
+        final File directory = temporaryFolder.newFolder("verdicts");
+        addChild(ruleConfiguration, "storeVerdicts", "true");
+        addChild(ruleConfiguration, "verdictStoreDirectory", directory.getAbsolutePath());
+        when(mavenSession.getRepositorySession()).thenReturn(repositorySession);
+        when(buildPluginManager.loadPlugin(any(Plugin.class), any(), any(RepositorySystemSession.class)))
+                .thenAnswer(invocation -> createPluginDescriptor(invocation.getArgument(0)));
+
+        // when
+        participant.afterProjectsRead(mavenSession);
+
+        // then
+        assertThat(participant.awaitPrefetch(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(new File(directory, "thread-safe-plugins.txt")).exists();
+    }
+
+    @Test
+    public void afterProjectsReadWithoutRule() throws Exception {
+        // given
+        when(mavenSession.getProjects()).thenReturn(Arrays.asList(
+                createProject("api", pluginOne, mavenPlugin),
+                createProject("core", pluginOne, pluginTwo)));
+
+        // when
+        participant.afterProjectsRead(mavenSession);
+
+        // then
+        assertThat(participant.awaitPrefetch(10, TimeUnit.SECONDS)).isTrue();
+        verify(buildPluginManager, never()).loadPlugin(any(Plugin.class), any(), any(RepositorySystemSession.class));
+    }
+
+    @Test
+    public void afterProjectsReadDisabled() throws Exception {
+        // given
+        userProperties.setProperty(PluginPrefetchParticipant.PREFETCH_PROPERTY, "false");
+
+        // when
+        participant.afterProjectsRead(mavenSession);
+
+        // then
+        assertThat(participant.awaitPrefetch(10, TimeUnit.SECONDS)).isTrue();
+        verify(buildPluginManager, never()).loadPlugin(any(Plugin.class), any(), any(RepositorySystemSession.class));
+    }
+
+    private static MavenProject createProject(String artifactId, Plugin... plugins) {
+        final MavenProject project = new MavenProject();
+        project.setGroupId("com.example");
+        project.setArtifactId(artifactId);
+        project.setVersion("0.0.1");
+        project.getBuild().setPlugins(Arrays.asList(plugins));
+        return project;
+    }
+
+    private static Xpp3Dom createRuleConfiguration() {
+        final Xpp3Dom rule = new Xpp3Dom("nonThreadSafePluginRule");
+        rule.setAttribute("implementation", NonThreadSafePluginRule.class.getName());
+        return rule;
+    }
+
+    private static Plugin createEnforcerPlugin(Xpp3Dom ruleConfiguration) {
+        final Xpp3Dom rules = new Xpp3Dom("rules");
+        rules.addChild(ruleConfiguration);
+        final Xpp3Dom configuration = new Xpp3Dom("configuration");
+        configuration.addChild(rules);
+        final PluginExecution execution = new PluginExecution();
+        execution.setId("enforce");
+        execution.setConfiguration(configuration);
+
+        final Plugin plugin = PluginCreator.create("org.apache.maven.plugins", "maven-enforcer-plugin", "3.0.0");
+        plugin.addExecution(execution);
+        return plugin;
+    }
+
+    private static void addChild(Xpp3Dom parent, String name, String value) {
+        final Xpp3Dom child = new Xpp3Dom(name);
+        child.setValue(value);
+        parent.addChild(child);
+    }
+
+    private static PluginDescriptor createPluginDescriptor(Plugin plugin) throws Exception {
+        final PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId(plugin.getGroupId());
+        pluginDescriptor.setArtifactId(plugin.getArtifactId());
+        pluginDescriptor.setVersion(plugin.getVersion());
+        pluginDescriptor.addMojo(createMojoDescriptor("goal-one", true));
+        pluginDescriptor.addMojo(createMojoDescriptor("goal-two", false));
+
+        return pluginDescriptor;
+    }
+
+    private static MojoDescriptor createMojoDescriptor(String goal, boolean threadSafe) {
+        final MojoDescriptor mojoDescriptor = new MojoDescriptor();
+        mojoDescriptor.setGoal(goal);
+        mojoDescriptor.setThreadSafe(threadSafe);
+        return mojoDescriptor;
+    }
+}
@@ -5,11 +5,15 @@ import java.util.List;
 
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.logging.Log;
+import org.assertj.core.api.Assertions;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import io.github.eniuv.maven.enforcer.custom.rules.plugin.PluginMetrics;
+
 @RunWith(MockitoJUnitRunner.class)
 public class LogUtilTest {
 
@@ -106,4 +110,68 @@ public class LogUtilTest {
         Mockito.verify(logMock).info("NonThreadSafePluginRule: Exclude \"com.example.group\".");
         Mockito.verifyNoMoreInteractions(logMock);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void logWarnLookupOfPluginTimedOut() {
+        // given
+        final Log logMock = Mockito.mock(Log.class);
+
+        final Plugin plugin = new Plugin();
+        plugin.setGroupId("com.example.group");
+        plugin.setArtifactId("example-artifact");
+        plugin.setVersion("0.0.1");
+
+        // when
+        LogUtil.logWarnLookupOfPluginTimedOut(logMock, plugin);
+
+        // then
+        Mockito.verify(logMock).warn("NonThreadSafePluginRule: The lookup of Plugin: \"com.example.group:example-artifact:0.0.1\" timed out, the thread safety of its goals is unknown.");
+        Mockito.verifyNoMoreInteractions(logMock);
+    }
+
+    @Test
+    public void logInfoMetrics() {
+        // given
+        final Log logMock = Mockito.mock(Log.class);
+
+        final Plugin plugin = new Plugin();
+        plugin.setGroupId("com.example.group");
+        plugin.setArtifactId("example-artifact");
+        plugin.setVersion("0.0.1");
+
+        final PluginMetrics metrics = new PluginMetrics();
+        metrics.recordCacheMiss();
+        metrics.recordCacheHit();
+        metrics.recordCacheHit();
+        metrics.recordResolution(plugin, 5_000_000);
+
+        // when
+        LogUtil.logInfoMetrics(logMock, metrics);
+
+        // then
+        final ArgumentCaptor<CharSequence> message = ArgumentCaptor.forClass(CharSequence.class);
+        Mockito.verify(logMock).info(message.capture());
+        Assertions.assertThat(message.getValue().toString())
+                .startsWith("NonThreadSafePluginRule: Resolved 1 plugin descriptors in 5 ms, cache hits: 2, cache misses: 1, verdict store hits: 0, index hits: 0, slowest: \"com.example.group:example-artifact:0.0.1\" 5 ms, rule time: ");
+        Mockito.verifyNoMoreInteractions(logMock);
+    }
+
+    @Test
+    public void logInfoMetricsResultReused() {
+        // given
+        final Log logMock = Mockito.mock(Log.class);
+
+        final PluginMetrics metrics = new PluginMetrics();
+        metrics.recordResultReused();
+
+        // when
+        LogUtil.logInfoMetrics(logMock, metrics);
+
+        // then
+        final ArgumentCaptor<CharSequence> message = ArgumentCaptor.forClass(CharSequence.class);
+        Mockito.verify(logMock).info(message.capture());
+        Assertions.assertThat(message.getValue().toString())
+                .startsWith("NonThreadSafePluginRule: Reused the result of the plugin set, resolved 0 plugin descriptors in 0 ms, cache hits: 0, ");
+        Mockito.verifyNoMoreInteractions(logMock);
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.ArtifactUtils;
+
+/**
+ * Generates a {@link KnownPluginIndex} from the released plugins of a local repository.
+ * It is build tooling, run by the "plugin-index" profile, and it is not part of the library.
+ *
+ * <pre>
+ * java KnownPluginIndexGenerator &lt;local repository&gt; &lt;index file&gt;
+ * </pre>
+ */
+public class KnownPluginIndexGenerator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: KnownPluginIndexGenerator <local repository> <index file>");
+            System.exit(1);
+        }
+
+        final Map<String, Map<String, Boolean>> plugins = scan(Paths.get(args[0]));
+
+        final Path indexFile = Paths.get(args[1]);
+        Files.createDirectories(indexFile.toAbsolutePath().getParent());
+        try (OutputStream outputStream = Files.newOutputStream(indexFile)) {
+            KnownPluginIndex.write(plugins, outputStream);
+        }
+
+        System.out.println("Wrote " + plugins.size() + " plugins to " + indexFile + ".");
+    }
+
+    /**
+     * Reads the plugin descriptors of all the released plugin jars of a local repository.
+     *
+     * @param localRepository The base directory of the local repository.
+     * @return The thread safety of the goals by plugin id.
+     */
+    static Map<String, Map<String, Boolean>> scan(Path localRepository) throws IOException {
+        final Map<String, Map<String, Boolean>> plugins = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(localRepository)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".jar")).forEach(jar -> {
+                final String pluginId = toPluginId(localRepository.relativize(jar));
+                if (pluginId != null) {
+                    final Map<String, Boolean> threadSafeGoals = PluginXmlReader.readJar(jar.toFile());
+                    if (threadSafeGoals != null && !threadSafeGoals.isEmpty()) {
+                        plugins.put(pluginId, threadSafeGoals);
+                    }
+                }
+            });
+        }
+
+        return plugins;
+    }
+
+    /**
+     * @param path The path of a jar in the layout of the repository: "group/path/artifactId/version/artifactId-version.jar".
+     * @return The plugin id or null if the jar is not the main artifact of a released version.
+     */
+    static String toPluginId(Path path) {
+        final int count = path.getNameCount();
+        if (count < 4) {
+            return null;
+        }
+
+        final String version = path.getName(count - 2).toString();
+        final String artifactId = path.getName(count - 3).toString();
+        if (ArtifactUtils.isSnapshot(version) || !path.getFileName().toString().equals(artifactId + "-" + version + ".jar")) {
+            return null;
+        }
+
+        return path.subpath(0, count - 3).toString().replace(File.separatorChar, '.') + ":" + artifactId + ":" + version;
+    }
+}
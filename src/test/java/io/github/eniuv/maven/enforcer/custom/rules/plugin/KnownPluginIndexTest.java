@@ -0,0 +1,109 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class KnownPluginIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void writeAndRead() throws Exception {
+        // given
+        final Map<String, Map<String, Boolean>> plugins = new LinkedHashMap<>();
+        plugins.put("com.example.group.two:example-artifact-two:0.0.2", threadSafeGoals("goal-one", true));
+        plugins.put("com.example.group.one:example-artifact-one:0.0.1", threadSafeGoals("goal-one", false));
+        plugins.get("com.example.group.one:example-artifact-one:0.0.1").put("goal-two", true);
+
+        // when
+        final KnownPluginIndex index = writeAndRead(plugins);
+
+        // then
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.get("com.example.group.one:example-artifact-one:0.0.1")).containsExactly(entry("goal-one", false), entry("goal-two", true));
+        assertThat(index.get("com.example.group.two:example-artifact-two:0.0.2")).containsExactly(entry("goal-one", true));
+        assertThat(index.get("com.example.group.one:example-artifact-one:0.0.2")).isNull();
+    }
+
+    @Test
+    public void readEmpty() throws Exception {
+        // when
+        final KnownPluginIndex index = writeAndRead(new LinkedHashMap<>());
+
+        // then
+        assertThat(index.size()).isEqualTo(0);
+        assertThat(index.get("com.example.group.one:example-artifact-one:0.0.1")).isNull();
+    }
+
+    @Test(expected = IOException.class)
+    public void readNotAnIndex() throws Exception {
+        KnownPluginIndex.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+
+    @Test
+    public void generateAndReadFile() throws Exception {
+        // given
+        final File repository = temporaryFolder.newFolder("repository");
+        final File version = new File(repository, "com/example/example-plugin/0.0.1");
+        version.mkdirs();
+        PluginXmlReaderTest.writeJar(new File(version, "example-plugin-0.0.1.jar"), PluginXmlReaderTest.PLUGIN_XML);
+        final File file = new File(temporaryFolder.getRoot(), "known-plugins.idx");
+
+        // when
+        KnownPluginIndexGenerator.main(new String[]{repository.getPath(), file.getPath()});
+        final KnownPluginIndex index = KnownPluginIndex.read(file);
+
+        // then
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.get("com.example:example-plugin:0.0.1")).containsEntry("goal-two", false);
+    }
+
+    @Test
+    public void generatorScansLocalRepository() throws Exception {
+        // given
+        final File version = temporaryFolder.newFolder("com", "example", "example-plugin", "0.0.1");
+        PluginXmlReaderTest.writeJar(new File(version, "example-plugin-0.0.1.jar"), PluginXmlReaderTest.PLUGIN_XML);
+        PluginXmlReaderTest.writeJar(new File(version, "example-plugin-0.0.1-sources.jar"), PluginXmlReaderTest.PLUGIN_XML);
+        final File snapshot = temporaryFolder.newFolder("com", "example", "example-plugin", "0.0.2-SNAPSHOT");
+        PluginXmlReaderTest.writeJar(new File(snapshot, "example-plugin-0.0.2-SNAPSHOT.jar"), PluginXmlReaderTest.PLUGIN_XML);
+
+        // when
+        final Map<String, Map<String, Boolean>> plugins = KnownPluginIndexGenerator.scan(temporaryFolder.getRoot().toPath());
+
+        // then
+        assertThat(plugins).containsOnlyKeys("com.example:example-plugin:0.0.1");
+        assertThat(plugins.get("com.example:example-plugin:0.0.1")).containsEntry("goal-two", false);
+    }
+
+    @Test
+    public void generatorPluginId() {
+        assertThat(KnownPluginIndexGenerator.toPluginId(Paths.get("org", "apache", "maven", "plugins", "maven-site-plugin", "3.3", "maven-site-plugin-3.3.jar")))
+                .isEqualTo("org.apache.maven.plugins:maven-site-plugin:3.3");
+        assertThat(KnownPluginIndexGenerator.toPluginId(Paths.get("maven-site-plugin", "3.3", "maven-site-plugin-3.3.jar"))).isNull();
+    }
+
+    private static KnownPluginIndex writeAndRead(Map<String, Map<String, Boolean>> plugins) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        KnownPluginIndex.write(plugins, outputStream);
+        return KnownPluginIndex.read(new ByteArrayInputStream(outputStream.toByteArray()));
+    }
+
+    private static Map<String, Boolean> threadSafeGoals(String goal, boolean threadSafe) {
+        final Map<String, Boolean> threadSafeGoals = new LinkedHashMap<>();
+        threadSafeGoals.put(goal, threadSafe);
+        return threadSafeGoals;
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.apache.maven.lifecycle.LifeCyclePluginAnalyzer;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Test;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+
+public class PluginAnalysisTest {
+
+    private final DefaultRepositorySystemSession repositorySession = new DefaultRepositorySystemSession();
+
+    @Test
+    public void forSessionSharesAnalysisBetweenCalls() {
+        // when
+        final PluginAnalysis first = PluginAnalysis.forSession(repositorySession);
+        final PluginAnalysis second = PluginAnalysis.forSession(repositorySession);
+        final PluginAnalysis other = PluginAnalysis.forSession(new DefaultRepositorySystemSession());
+
+        // then
+        assertThat(first).isSameAs(second);
+        assertThat(first).isNotSameAs(other);
+    }
+
+    @Test
+    public void getExclusionsCompilesEveryListOnce() throws Exception {
+        // given
+        final PluginAnalysis analysis = PluginAnalysis.forSession(repositorySession);
+        final Plugin excludeOne = PluginCreator.create("com.example.group.one", null, null);
+        final Plugin excludeTwo = PluginCreator.create("com.example.group.two", "*", "0.0.1");
+
+        // when
+        final PluginExclusions first = analysis.getExclusions(Arrays.asList(excludeOne, excludeTwo));
+        final PluginExclusions second = analysis.getExclusions(Arrays.asList(
+                PluginCreator.create("com.example.group.one", null, null),
+                PluginCreator.create("com.example.group.two", "*", "0.0.1")));
+        final PluginExclusions other = analysis.getExclusions(Collections.singletonList(excludeOne));
+
+        // then
+        assertThat(first).isSameAs(second);
+        assertThat(first).isNotSameAs(other);
+    }
+
+    @Test
+    public void pluginServicesShareTheCaches() throws Exception {
+        // given
+        final PluginAnalysis analysis = PluginAnalysis.forSession(repositorySession);
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1", Collections.singletonList("goal-one"));
+        final KnownPluginIndex index = KnownPluginIndex.read(toIndex(plugin));
+
+        final PluginService first = analysis.createPluginService(null, null);
+        first.setKnownPluginIndex(index);
+        final PluginService second = new PluginService(null, null, repositorySession);
+        final PluginMetrics metrics = new PluginMetrics();
+        second.setMetrics(metrics);
+
+        // when
+        first.getNonThreadSafeGoals(plugin);
+        second.getNonThreadSafeGoals(plugin);
+
+        // then
+        assertThat(analysis.getThreadSafeGoalsCache().size()).isEqualTo(1);
+        assertThat(metrics.getCacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    public void getEffectivePluginsAddsGoalsBoundByPackaging() {
+        // given
+        final PluginAnalysis analysis = PluginAnalysis.forSession(repositorySession);
+        final Plugin compilerPlugin = PluginCreator.create("com.example.group.one", "example-compiler-plugin", "0.0.1", Arrays.asList("compile", "test-compile"));
+        final Plugin jarPlugin = PluginCreator.create("com.example.group.one", "example-jar-plugin", "0.0.1", Collections.singletonList("jar"));
+        final Plugin surefirePlugin = PluginCreator.create("com.example.group.one", "example-surefire-plugin", "0.0.1", Collections.singletonList("test"));
+        final LifeCyclePluginAnalyzer lifecyclePluginAnalyzer = mock(LifeCyclePluginAnalyzer.class);
+        when(lifecyclePluginAnalyzer.getPluginsBoundByDefaultToAllLifecycles("jar"))
+                .thenReturn(new LinkedHashSet<>(Arrays.asList(compilerPlugin, jarPlugin, surefirePlugin)));
+
+        final Plugin declaredCompilerPlugin = PluginCreator.create("com.example.group.one", "example-compiler-plugin", "0.0.2", Collections.singletonList("compile"));
+        final MavenProject project = createProject("jar", declaredCompilerPlugin);
+        final PluginManagement pluginManagement = new PluginManagement();
+        pluginManagement.addPlugin(PluginCreator.create("com.example.group.one", "example-jar-plugin", "0.0.3"));
+        project.getBuild().setPluginManagement(pluginManagement);
+
+        // when
+        final List<Plugin> effectivePlugins = analysis.getEffectivePlugins(project, lifecyclePluginAnalyzer);
+
+        // then
+        assertThat(effectivePlugins).extracting(Plugin::getId).containsExactly(
+                "com.example.group.one:example-compiler-plugin:0.0.2",
+                "com.example.group.one:example-jar-plugin:0.0.3",
+                "com.example.group.one:example-surefire-plugin:0.0.1");
+        assertThat(PluginService.getGoals(effectivePlugins.get(0))).containsExactly("compile", "test-compile");
+        assertThat(PluginService.getGoals(effectivePlugins.get(1))).containsExactly("jar");
+        assertThat(declaredCompilerPlugin.getExecutions()).hasSize(1);
+    }
+
+    @Test
+    public void getEffectivePluginsSharedByModulesWithSamePackaging() {
+        // given
+        final PluginAnalysis analysis = PluginAnalysis.forSession(repositorySession);
+        final Plugin jarPlugin = PluginCreator.create("com.example.group.one", "example-jar-plugin", "0.0.1", Collections.singletonList("jar"));
+        final LifeCyclePluginAnalyzer lifecyclePluginAnalyzer = mock(LifeCyclePluginAnalyzer.class);
+        when(lifecyclePluginAnalyzer.getPluginsBoundByDefaultToAllLifecycles("jar")).thenReturn(Collections.singleton(jarPlugin));
+        when(lifecyclePluginAnalyzer.getPluginsBoundByDefaultToAllLifecycles("pom")).thenReturn(null);
+
+        final Plugin plugin = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1", Collections.singletonList("goal-one"));
+        final MavenProject pomProject = createProject("pom", plugin);
+
+        // when
+        final List<Plugin> first = analysis.getEffectivePlugins(createProject("jar", plugin), lifecyclePluginAnalyzer);
+        final List<Plugin> second = analysis.getEffectivePlugins(createProject("jar", plugin), lifecyclePluginAnalyzer);
+        final List<Plugin> pom = analysis.getEffectivePlugins(pomProject, lifecyclePluginAnalyzer);
+
+        // then
+        assertThat(first).isSameAs(second);
+        assertThat(first).hasSize(2);
+        assertThat(pom).isSameAs(pomProject.getBuild().getPlugins());
+        verify(lifecyclePluginAnalyzer, times(1)).getPluginsBoundByDefaultToAllLifecycles("jar");
+    }
+
+    private static MavenProject createProject(String packaging, Plugin... plugins) {
+        final MavenProject project = new MavenProject();
+        project.setGroupId("com.example");
+        project.setArtifactId("example-" + packaging);
+        project.setVersion("0.0.1");
+        project.setPackaging(packaging);
+        project.getBuild().setPlugins(new ArrayList<>(Arrays.asList(plugins)));
+        return project;
+    }
+
+    private static InputStream toIndex(Plugin plugin) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        KnownPluginIndex.write(Collections.singletonMap(plugin.getId(), Collections.singletonMap("goal-one", true)), out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.plugin.MojoNotFoundException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.junit.Test;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+
+public class PluginCacheTest {
+
+    private final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1");
+
+    @Test
+    public void getLooksUpOnlyOnce() throws Exception {
+        // given
+        final PluginCache<Boolean> cache = new PluginCache<>();
+        final AtomicInteger lookups = new AtomicInteger();
+
+        // when
+        final Boolean first = cache.get(plugin, "key", () -> lookups.incrementAndGet() > 0);
+        final Boolean second = cache.get(plugin, "key", () -> lookups.incrementAndGet() > 0);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(lookups).hasValue(1);
+    }
+
+    @Test
+    public void getConcurrentWaitsForLookupInProgress() throws Exception {
+        // given
+        final PluginCache<Boolean> cache = new PluginCache<>();
+        final AtomicInteger lookups = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        final List<Future<Boolean>> results = new ArrayList<>(0);
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get(plugin, "key", () -> {
+                    lookups.incrementAndGet();
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+                    return true;
+                });
+            }));
+        }
+        start.countDown();
+
+        // then
+        for (Future<Boolean> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(lookups).hasValue(1);
+        executor.shutdown();
+    }
+
+    @Test
+    public void getDoesNotCacheFailures() throws Exception {
+        // given
+        final PluginCache<Boolean> cache = new PluginCache<>();
+
+        // when
+        try {
+            cache.get(plugin, "key", () -> {
+                throw new MojoNotFoundException("goal", new PluginDescriptor());
+            });
+        } catch (MojoNotFoundException e) {
+            // expected
+        }
+        final Boolean value = cache.get(plugin, "key", () -> false);
+
+        // then
+        assertThat(value).isFalse();
+    }
+
+    @Test(expected = MojoNotFoundException.class)
+    public void getRethrowsLookupException() throws Exception {
+        new PluginCache<Boolean>().get(plugin, "key", () -> {
+            throw new MojoNotFoundException("goal", new PluginDescriptor());
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.model.Plugin;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+
+public class PluginExclusionsTest {
+
+    private final List<Plugin> exclude = Arrays.asList(
+            PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"),
+            PluginCreator.create("com.example.group.two", null, null),
+            PluginCreator.create("com.example.group.three", "example-artifact-three", null),
+            PluginCreator.create("org.codehaus.*", null, null),
+            PluginCreator.create("com.acme.*", "*-gen-plugin", null),
+            PluginCreator.create("com.*.tools", "example-*", "1.*"),
+            PluginCreator.create(null, "any-group-artifact", "0.0.1"),
+            PluginCreator.create("com.example.group.range", "example-artifact-range", "[2.0,3.0)")
+    );
+
+    private PluginExclusions exclusions;
+
+    @Before
+    public void before() throws Exception {
+        exclusions = PluginExclusions.compile(exclude);
+    }
+
+    @Test
+    public void matchesExact() {
+        assertThat(exclusions.matches(PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"))).isTrue();
+        assertThat(exclusions.matches(PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.2"))).isFalse();
+        assertThat(exclusions.matches(PluginCreator.create("com.example.group.one", "example-artifact-two", "0.0.1"))).isFalse();
+    }
+
+    @Test
+    public void matchesMissingValues() {
+        assertThat(exclusions.matches(PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1"))).isTrue();
+        assertThat(exclusions.matches(PluginCreator.create("com.example.group.three", "example-artifact-three", "0.0.9"))).isTrue();
+        assertThat(exclusions.matches(PluginCreator.create("com.example.group.four", "any-group-artifact", "0.0.1"))).isTrue();
+        assertThat(exclusions.matches(PluginCreator.create("com.example.group.four", "any-group-artifact", "0.0.2"))).isFalse();
+    }
+
+    @Test
+    public void matchesWildcards() {
+        assertThat(exclusions.matches(PluginCreator.create("org.codehaus.mojo", "javacc-maven-plugin", "2.6"))).isTrue();
+        assertThat(exclusions.matches(PluginCreator.create("org.codehaus", "javacc-maven-plugin", "2.6"))).isFalse();
+        assertThat(exclusions.matches(PluginCreator.create("com.acme.build", "proto-gen-plugin", "1.0"))).isTrue();
+        assertThat(exclusions.matches(PluginCreator.create("com.acme.build", "proto-maven-plugin", "1.0"))).isFalse();
+        assertThat(exclusions.matches(PluginCreator.create("com.example.tools", "example-plugin", "1.2"))).isTrue();
+        assertThat(exclusions.matches(PluginCreator.create("com.example.tools", "example-plugin", "2.2"))).isFalse();
+    }
+
+    @Test
+    public void matchesVersionRanges() {
+        assertThat(exclusions.matches(PluginCreator.create("com.example.group.range", "example-artifact-range", "2.0"))).isTrue();
+        assertThat(exclusions.matches(PluginCreator.create("com.example.group.range", "example-artifact-range", "2.9.1"))).isTrue();
+        assertThat(exclusions.matches(PluginCreator.create("com.example.group.range", "example-artifact-range", "3.0"))).isFalse();
+        assertThat(exclusions.matches(PluginCreator.create("com.example.group.range", "example-artifact-range", "1.9"))).isFalse();
+    }
+
+    @Test(expected = InvalidVersionSpecificationException.class)
+    public void compileInvalidVersionRange() throws Exception {
+        PluginExclusions.compile(Collections.singletonList(PluginCreator.create("com.example.group.one", "example-artifact-one", "[2.0,1.0)")));
+    }
+
+    @Test
+    public void matchesSameAsPluginMatcher() {
+        final List<Plugin> plugins = Arrays.asList(
+                PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"),
+                PluginCreator.create("com.example.group.one", null, "0.0.1"),
+                PluginCreator.create("com.example.group.two", "example-artifact-one", null),
+                PluginCreator.create("com.example.group.three", "example-artifact-four", "0.0.1"),
+                PluginCreator.create("org.codehaus.mojo", "build-helper-maven-plugin", "3.0.0"),
+                PluginCreator.create("org.codehaus.*", "build-helper-maven-plugin", "3.0.0"),
+                PluginCreator.create("com.acme", "proto-gen-plugin", "1.0"),
+                PluginCreator.create("com.acme.x", "proto-gen-plugin", "1.0"),
+                PluginCreator.create("com.x.tools", "example-a", "1.0"),
+                PluginCreator.create("com.x.tools", "example-a", "0.1"),
+                PluginCreator.create(null, "any-group-artifact", "0.0.1"),
+                PluginCreator.create("com.example.group.range", "example-artifact-range", "2.5"),
+                PluginCreator.create("com.example.group.range", "example-artifact-range", "3.5")
+        );
+
+        for (Plugin plugin : plugins) {
+            assertThat(exclusions.matches(plugin))
+                    .as(plugin.getId())
+                    .isEqualTo(PluginMatcher.doesPluginMatchInList(plugin, exclude));
+        }
+    }
+}
@@ -88,4 +88,32 @@ public class PluginMatcherTest {
         ).isFalse();
     }
 
+    @Test
+    public void isPluginMatchForWildcards() {
+        assertThat(PluginMatcher.isPluginMatchFor(
+                PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"),
+                PluginCreator.create("com.example.*", null, null))
+        ).isTrue();
+
+        assertThat(PluginMatcher.isPluginMatchFor(
+                PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"),
+                PluginCreator.create("com.*", "*-one", "0.0.*"))
+        ).isTrue();
+
+        assertThat(PluginMatcher.isPluginMatchFor(
+                PluginCreator.create("com.example.*", null, null),
+                PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"))
+        ).isTrue();
+
+        assertThat(PluginMatcher.isPluginMatchFor(
+                PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"),
+                PluginCreator.create("org.*", null, null))
+        ).isFalse();
+
+        assertThat(PluginMatcher.isPluginMatchFor(
+                PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"),
+                PluginCreator.create("com.example.group.one", "*-two", null))
+        ).isFalse();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+
+public class PluginMetricsTest {
+
+    @Test
+    public void toJsonEscapesValues() {
+        // given
+        final PluginMetrics metrics = new PluginMetrics();
+        metrics.recordResolution(PluginCreator.create("com.example\"group", "example\\artifact", "0.0.1"), 1000);
+
+        // when
+        final String json = metrics.toJson("com.example:module\n:jar:0.0.1");
+
+        // then
+        assertThat(json)
+                .contains("\"module\": \"com.example:module\\n:jar:0.0.1\"")
+                .contains("\"plugin\": \"com.example\\\"group:example\\\\artifact:0.0.1\"");
+    }
+}
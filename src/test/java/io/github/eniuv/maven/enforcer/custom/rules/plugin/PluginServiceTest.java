@@ -1,17 +1,36 @@
 package io.github.eniuv.maven.enforcer.custom.rules.plugin;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.MojoNotFoundException;
 import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.assertj.core.api.Assertions;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -31,6 +50,9 @@ public class PluginServiceTest {
     @Mock
     private RepositorySystemSession repositorySession;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @InjectMocks
     private PluginService pluginService;
 
@@ -43,12 +65,10 @@ public class PluginServiceTest {
                 "0.0.1",
                 Arrays.asList("goal-one", "goal-two", "goal-three"));
 
-        final MojoDescriptor mojoThreadSafeTrue = new MojoDescriptorMock(true);
-        final MojoDescriptor mojoThreadSafeFalse = new MojoDescriptorMock(false);
-
-        when(pluginBuildManager.getMojoDescriptor(plugin, "goal-one", repositories, repositorySession)).thenReturn(mojoThreadSafeTrue);
-        when(pluginBuildManager.getMojoDescriptor(plugin, "goal-two", repositories, repositorySession)).thenReturn(mojoThreadSafeFalse);
-        when(pluginBuildManager.getMojoDescriptor(plugin, "goal-three", repositories, repositorySession)).thenReturn(mojoThreadSafeTrue);
+        when(pluginBuildManager.loadPlugin(plugin, repositories, repositorySession)).thenReturn(createPluginDescriptor(
+                new MojoDescriptorMock("goal-one", true),
+                new MojoDescriptorMock("goal-two", false),
+                new MojoDescriptorMock("goal-three", true)));
 
         // when
         final List<String> nonThreadSafeGoals = pluginService.getNonThreadSafeGoals(plugin);
@@ -59,6 +79,350 @@ public class PluginServiceTest {
                 .contains("goal-two");
     }
 
+    @Test
+    public void getNonThreadSafeGoalsLoadsPluginOnce() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Arrays.asList("goal-one", "goal-two", "goal-one", "goal-two"));
+
+        when(pluginBuildManager.loadPlugin(plugin, repositories, repositorySession)).thenReturn(createPluginDescriptor(
+                new MojoDescriptorMock("goal-one", false),
+                new MojoDescriptorMock("goal-two", true)));
+
+        // when
+        final List<String> nonThreadSafeGoals = pluginService.getNonThreadSafeGoals(plugin);
+
+        // then
+        Assertions.assertThat(nonThreadSafeGoals).containsExactly("goal-one");
+        verify(pluginBuildManager, times(1)).loadPlugin(plugin, repositories, repositorySession);
+        verifyNoMoreInteractions(pluginBuildManager);
+    }
+
+    @Test
+    public void getNonThreadSafeGoalsRecordsMetrics() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Arrays.asList("goal-one", "goal-two"));
+
+        when(pluginBuildManager.loadPlugin(plugin, repositories, repositorySession)).thenReturn(createPluginDescriptor(
+                new MojoDescriptorMock("goal-one", false),
+                new MojoDescriptorMock("goal-two", true)));
+
+        final PluginMetrics metrics = new PluginMetrics();
+        pluginService.setMetrics(metrics);
+
+        // when
+        pluginService.getNonThreadSafeGoals(plugin);
+        pluginService.getNonThreadSafeGoals(plugin);
+
+        // then
+        Assertions.assertThat(metrics.getCacheMisses()).isEqualTo(1);
+        Assertions.assertThat(metrics.getCacheHits()).isEqualTo(1);
+        Assertions.assertThat(metrics.getResolutions()).hasSize(1);
+        Assertions.assertThat(metrics.getSlowestResolution().getPluginId()).isEqualTo(plugin.getId());
+        Assertions.assertThat(metrics.toJson("module"))
+                .contains("\"descriptorsResolved\": 1")
+                .contains("\"plugin\": \"" + plugin.getId() + "\"");
+    }
+
+    @Test
+    public void getNonThreadSafeGoalsFromPluginXml() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Arrays.asList("goal-one", "goal-two"));
+
+        final LocalRepositoryManager localRepositoryManager = mock(LocalRepositoryManager.class);
+        when(repositorySession.getLocalRepositoryManager()).thenReturn(localRepositoryManager);
+        when(localRepositoryManager.getRepository()).thenReturn(new LocalRepository(temporaryFolder.getRoot()));
+        when(localRepositoryManager.getPathForLocalArtifact(any(Artifact.class))).thenReturn("example-artifact-one-0.0.1.jar");
+        PluginXmlReaderTest.writeJar(new File(temporaryFolder.getRoot(), "example-artifact-one-0.0.1.jar"), PluginXmlReaderTest.PLUGIN_XML);
+
+        pluginService.setReadPluginXml(true);
+
+        // when
+        final List<String> nonThreadSafeGoals = pluginService.getNonThreadSafeGoals(plugin);
+
+        // then
+        Assertions.assertThat(nonThreadSafeGoals).containsExactly("goal-two");
+        verifyZeroInteractions(pluginBuildManager);
+    }
+
+    @Test
+    public void getNonThreadSafeGoalsPluginXmlMissing() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Arrays.asList("goal-one", "goal-two"));
+
+        when(pluginBuildManager.loadPlugin(plugin, repositories, repositorySession)).thenReturn(createPluginDescriptor(
+                new MojoDescriptorMock("goal-one", false),
+                new MojoDescriptorMock("goal-two", true)));
+
+        pluginService.setReadPluginXml(true);
+
+        // when
+        final List<String> nonThreadSafeGoals = pluginService.getNonThreadSafeGoals(plugin);
+
+        // then
+        Assertions.assertThat(nonThreadSafeGoals).containsExactly("goal-one");
+        verify(pluginBuildManager, times(1)).loadPlugin(plugin, repositories, repositorySession);
+    }
+
+    @Test
+    public void getNonThreadSafeGoalsFromKnownPluginIndex() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Arrays.asList("goal-one", "goal-two"));
+
+        final Map<String, Boolean> threadSafeGoals = new LinkedHashMap<>();
+        threadSafeGoals.put("goal-one", true);
+        threadSafeGoals.put("goal-two", false);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        KnownPluginIndex.write(Collections.singletonMap(plugin.getId(), threadSafeGoals), outputStream);
+        pluginService.setKnownPluginIndex(KnownPluginIndex.read(new ByteArrayInputStream(outputStream.toByteArray())));
+
+        // when
+        final List<String> nonThreadSafeGoals = pluginService.getNonThreadSafeGoals(plugin);
+
+        // then
+        Assertions.assertThat(nonThreadSafeGoals).containsExactly("goal-two");
+        verifyZeroInteractions(pluginBuildManager);
+    }
+
+    @Test
+    public void getBoundMojoDescriptors() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Arrays.asList("goal-two", "goal-one", "goal-two"));
+
+        final MojoDescriptor goalOne = new MojoDescriptorMock("goal-one", true);
+        final MojoDescriptor goalTwo = new MojoDescriptorMock("goal-two", false);
+        when(pluginBuildManager.loadPlugin(plugin, repositories, repositorySession)).thenReturn(createPluginDescriptor(
+                goalOne,
+                goalTwo,
+                new MojoDescriptorMock("goal-three", true)));
+
+        // when
+        final List<MojoDescriptor> mojoDescriptors = pluginService.getBoundMojoDescriptors(plugin);
+        pluginService.getBoundMojoDescriptors(plugin);
+
+        // then
+        Assertions.assertThat(mojoDescriptors).containsExactly(goalTwo, goalOne);
+        verify(pluginBuildManager, times(1)).loadPlugin(plugin, repositories, repositorySession);
+    }
+
+    @Test(expected = MojoNotFoundException.class)
+    public void getBoundMojoDescriptorsUnknownGoal() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Collections.singletonList("goal-unknown"));
+
+        when(pluginBuildManager.loadPlugin(plugin, repositories, repositorySession)).thenReturn(createPluginDescriptor(
+                new MojoDescriptorMock("goal-one", true)));
+
+        // when
+        pluginService.getBoundMojoDescriptors(plugin);
+
+        // then
+        // exception MojoNotFoundException is thrown
+    }
+
+    @Test(expected = MojoNotFoundException.class)
+    public void getNonThreadSafeGoalsUnknownGoal() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Arrays.asList("goal-one", "goal-unknown"));
+
+        when(pluginBuildManager.loadPlugin(plugin, repositories, repositorySession)).thenReturn(createPluginDescriptor(
+                new MojoDescriptorMock("goal-one", true)));
+
+        // when
+        pluginService.getNonThreadSafeGoals(plugin);
+
+        // then
+        // exception MojoNotFoundException is thrown
+    }
+
+    @Test
+    public void getNonThreadSafeGoalsFromVerdictStore() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Arrays.asList("goal-one", "goal-two"));
+
+        final Map<String, Boolean> threadSafeGoals = new LinkedHashMap<>();
+        threadSafeGoals.put("goal-one", false);
+        threadSafeGoals.put("goal-two", true);
+
+        final VerdictStore verdictStore = VerdictStore.load(temporaryFolder.getRoot().toPath().resolve(VerdictStore.FILE_NAME));
+        verdictStore.put(plugin, threadSafeGoals);
+        pluginService.setVerdictStore(verdictStore);
+
+        // when
+        final List<String> nonThreadSafeGoals = pluginService.getNonThreadSafeGoals(plugin);
+
+        // then
+        Assertions.assertThat(nonThreadSafeGoals).containsExactly("goal-one");
+        verifyZeroInteractions(pluginBuildManager);
+    }
+
+    @Test
+    public void getNonThreadSafeGoalsStoresVerdicts() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Arrays.asList("goal-one", "goal-two"));
+
+        when(pluginBuildManager.loadPlugin(plugin, repositories, repositorySession)).thenReturn(createPluginDescriptor(
+                new MojoDescriptorMock("goal-one", true),
+                new MojoDescriptorMock("goal-two", false)));
+
+        final VerdictStore verdictStore = VerdictStore.load(temporaryFolder.getRoot().toPath().resolve(VerdictStore.FILE_NAME));
+        pluginService.setVerdictStore(verdictStore);
+
+        // when
+        pluginService.getNonThreadSafeGoals(plugin);
+
+        // then
+        Assertions.assertThat(verdictStore.get("com.example.group.one:example-artifact-one:0.0.1"))
+                .containsEntry("goal-one", true)
+                .containsEntry("goal-two", false);
+    }
+
+    @Test
+    public void getNonThreadSafeGoalsDoesNotStoreKnownVerdicts() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Collections.singletonList("goal-one"));
+
+        final File storeFile = temporaryFolder.getRoot().toPath().resolve(VerdictStore.FILE_NAME).toFile();
+        final VerdictStore verdictStore = VerdictStore.load(storeFile.toPath());
+        verdictStore.put(plugin, Collections.singletonMap("goal-one", true));
+        final long storeSize = storeFile.length();
+        pluginService.setVerdictStore(verdictStore);
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final Plugin indexedPlugin = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.1", Collections.singletonList("goal-one"));
+        KnownPluginIndex.write(Collections.singletonMap(indexedPlugin.getId(), Collections.singletonMap("goal-one", true)), outputStream);
+        pluginService.setKnownPluginIndex(KnownPluginIndex.read(new ByteArrayInputStream(outputStream.toByteArray())));
+
+        // when
+        pluginService.getNonThreadSafeGoals(plugin);
+        pluginService.getNonThreadSafeGoals(plugin);
+        pluginService.getNonThreadSafeGoals(indexedPlugin);
+
+        // then
+        Assertions.assertThat(storeFile.length()).isEqualTo(storeSize);
+        Assertions.assertThat(verdictStore.get(indexedPlugin.getId())).isNull();
+        verifyZeroInteractions(pluginBuildManager);
+    }
+
+    @Test
+    public void getNonThreadSafeGoalsLoadsPluginWhenStoredGoalIsMissing() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Arrays.asList("goal-one", "goal-two"));
+
+        when(pluginBuildManager.loadPlugin(plugin, repositories, repositorySession)).thenReturn(createPluginDescriptor(
+                new MojoDescriptorMock("goal-one", true),
+                new MojoDescriptorMock("goal-two", false)));
+
+        final VerdictStore verdictStore = VerdictStore.load(temporaryFolder.getRoot().toPath().resolve(VerdictStore.FILE_NAME));
+        verdictStore.put(plugin, Collections.singletonMap("goal-one", true));
+        pluginService.setVerdictStore(verdictStore);
+
+        // when
+        final List<String> nonThreadSafeGoals = pluginService.getNonThreadSafeGoals(plugin);
+
+        // then
+        Assertions.assertThat(nonThreadSafeGoals).containsExactly("goal-two");
+        Assertions.assertThat(VerdictStore.load(temporaryFolder.getRoot().toPath().resolve(VerdictStore.FILE_NAME)).get(plugin.getId()))
+                .containsEntry("goal-one", true)
+                .containsEntry("goal-two", false);
+    }
+
+    @Test
+    public void getNonThreadSafeGoalsReplacesIncompleteStoredVerdicts() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create(
+                "com.example.group.one",
+                "example-artifact-one",
+                "0.0.1",
+                Arrays.asList("goal-one", "goal-two"));
+
+        when(pluginBuildManager.loadPlugin(plugin, repositories, repositorySession)).thenReturn(createPluginDescriptor(
+                new MojoDescriptorMock("goal-one", true),
+                new MojoDescriptorMock("goal-two", false)));
+
+        final File storeFile = temporaryFolder.getRoot().toPath().resolve(VerdictStore.FILE_NAME).toFile();
+        VerdictStore.load(storeFile.toPath()).put(plugin, Collections.singletonMap("goal-one", true));
+        pluginService.setVerdictStore(VerdictStore.load(storeFile.toPath()));
+        pluginService.getNonThreadSafeGoals(plugin);
+
+        final PluginMetrics metrics = new PluginMetrics();
+        pluginService.setMetrics(metrics);
+
+        // the next build reads the store again
+        final PluginService nextPluginService = new PluginService(pluginBuildManager, repositories, repositorySession);
+        nextPluginService.setVerdictStore(VerdictStore.load(storeFile.toPath()));
+
+        // when
+        final List<String> nonThreadSafeGoals = pluginService.getNonThreadSafeGoals(plugin);
+        final List<String> nextNonThreadSafeGoals = nextPluginService.getNonThreadSafeGoals(plugin);
+
+        // then
+        Assertions.assertThat(nonThreadSafeGoals).containsExactly("goal-two");
+        Assertions.assertThat(nextNonThreadSafeGoals).containsExactly("goal-two");
+        Assertions.assertThat(metrics.getResolutions()).isEmpty();
+        Assertions.assertThat(metrics.getCacheHits()).isEqualTo(1);
+        verify(pluginBuildManager, times(1)).loadPlugin(plugin, repositories, repositorySession);
+    }
+
+    private static PluginDescriptor createPluginDescriptor(MojoDescriptor... mojoDescriptors) throws Exception {
+        final PluginDescriptor pluginDescriptor = new PluginDescriptor();
+        pluginDescriptor.setGroupId("com.example.group.one");
+        pluginDescriptor.setArtifactId("example-artifact-one");
+        pluginDescriptor.setVersion("0.0.1");
+        for (MojoDescriptor mojoDescriptor : mojoDescriptors) {
+            pluginDescriptor.addMojo(mojoDescriptor);
+        }
+
+        return pluginDescriptor;
+    }
+
     /**
      * Workaround for mocking MojoDescriptor.class.
      *
@@ -159,9 +523,10 @@ public class PluginServiceTest {
      * 	at org.mockito.Mockito.mock(Mockito.java:1804)
      * 	... 35 more
      */
-    private class MojoDescriptorMock extends MojoDescriptor {
+    private static class MojoDescriptorMock extends MojoDescriptor {
 
-        MojoDescriptorMock(boolean isThreadSafe) {
+        MojoDescriptorMock(String goal, boolean isThreadSafe) {
+            this.setGoal(goal);
             this.setThreadSafe(isThreadSafe);
         }
 
@@ -0,0 +1,147 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.model.Plugin;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PluginXmlReaderTest {
+
+    static final String PLUGIN_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<plugin>\n"
+            + "  <goalPrefix>example</goalPrefix>\n"
+            + "  <mojos>\n"
+            + "    <mojo>\n"
+            + "      <goal>goal-one</goal>\n"
+            + "      <parameters><parameter><name>goal</name><threadSafe>true</threadSafe></parameter></parameters>\n"
+            + "      <threadSafe>true</threadSafe>\n"
+            + "    </mojo>\n"
+            + "    <mojo>\n"
+            + "      <threadSafe>false</threadSafe>\n"
+            + "      <goal>goal-two</goal>\n"
+            + "    </mojo>\n"
+            + "    <mojo>\n"
+            + "      <goal>goal-three</goal>\n"
+            + "    </mojo>\n"
+            + "  </mojos>\n"
+            + "</plugin>\n";
+
+    @Mock
+    private RepositorySystemSession repositorySession;
+
+    @Mock
+    private LocalRepositoryManager localRepositoryManager;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private PluginXmlReader pluginXmlReader;
+
+    @Before
+    public void before() {
+        pluginXmlReader = new PluginXmlReader(repositorySession);
+    }
+
+    @Test
+    public void parse() throws Exception {
+        // when
+        final Map<String, Boolean> threadSafeGoals = PluginXmlReader.parse(new ByteArrayInputStream(PLUGIN_XML.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(threadSafeGoals).containsExactly(
+                entry("goal-one", true),
+                entry("goal-two", false),
+                entry("goal-three", false));
+    }
+
+    @Test
+    public void readFromLocalRepository() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1");
+        stubLocalRepository("example-artifact-one-0.0.1.jar");
+        writeJar(new File(temporaryFolder.getRoot(), "example-artifact-one-0.0.1.jar"), PLUGIN_XML);
+
+        // when
+        final Map<String, Boolean> threadSafeGoals = pluginXmlReader.read(plugin);
+
+        // then
+        assertThat(threadSafeGoals).containsOnlyKeys("goal-one", "goal-two", "goal-three");
+    }
+
+    @Test
+    public void readMissingJar() {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1");
+        stubLocalRepository("missing.jar");
+
+        // when
+        final Map<String, Boolean> threadSafeGoals = pluginXmlReader.read(plugin);
+
+        // then
+        assertThat(threadSafeGoals).isNull();
+    }
+
+    @Test
+    public void readMalformedDescriptor() throws Exception {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1");
+        stubLocalRepository("example-artifact-one-0.0.1.jar");
+        writeJar(new File(temporaryFolder.getRoot(), "example-artifact-one-0.0.1.jar"), "<plugin><mojos>");
+
+        // when
+        final Map<String, Boolean> threadSafeGoals = pluginXmlReader.read(plugin);
+
+        // then
+        assertThat(threadSafeGoals).isNull();
+    }
+
+    @Test
+    public void readSnapshot() {
+        // given
+        final Plugin plugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1-SNAPSHOT");
+
+        // when
+        final Map<String, Boolean> threadSafeGoals = pluginXmlReader.read(plugin);
+
+        // then
+        assertThat(threadSafeGoals).isNull();
+    }
+
+    private void stubLocalRepository(String path) {
+        when(repositorySession.getLocalRepositoryManager()).thenReturn(localRepositoryManager);
+        when(localRepositoryManager.getRepository()).thenReturn(new LocalRepository(temporaryFolder.getRoot()));
+        when(localRepositoryManager.getPathForLocalArtifact(any(Artifact.class))).thenReturn(path);
+    }
+
+    static void writeJar(File jar, String pluginXml) throws Exception {
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(jar))) {
+            zipOutputStream.putNextEntry(new ZipEntry(PluginXmlReader.PLUGIN_XML));
+            zipOutputStream.write(pluginXml.getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+        }
+    }
+}
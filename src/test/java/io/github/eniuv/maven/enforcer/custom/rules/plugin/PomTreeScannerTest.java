@@ -0,0 +1,170 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.TreeSet;
+
+import org.apache.maven.model.Model;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+
+public class PomTreeScannerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path tree;
+    private PomTreeScanner scanner;
+
+    @Before
+    public void before() throws Exception {
+        final File localRepository = temporaryFolder.newFolder("repository");
+        final File jar = new File(localRepository, "com/example/group/one/example-artifact-one/0.0.1/example-artifact-one-0.0.1.jar");
+        Files.createDirectories(jar.getParentFile().toPath());
+        PluginXmlReaderTest.writeJar(jar, PluginXmlReaderTest.PLUGIN_XML);
+
+        tree = temporaryFolder.newFolder("tree").toPath();
+        final PluginExclusions exclusions = PluginExclusions.compile(Collections.singletonList(PluginCreator.create("org.apache.maven.plugins", null, null)));
+        scanner = new PomTreeScanner(localRepository.toPath(), null, exclusions, 4);
+    }
+
+    @Test
+    public void scan() throws Exception {
+        // given
+        writePom("pom.xml", plugin("com.example.group.one", "example-artifact-one", "${example.version}", "goal-one", "goal-two")
+                + plugin("org.apache.maven.plugins", "maven-example-plugin", "0.0.1", "goal-one"));
+        writePom("module-one/pom.xml", plugin("com.example.group.one", "example-artifact-one", "0.0.1", "goal-one", "goal-one"));
+        writePom("module-two/pom.xml", plugin("com.example.group.one", "example-artifact-one", "0.0.1", "goal-three")
+                + plugin("com.example.group.two", "example-artifact-two", "0.0.1", "goal-one"));
+        writePom("module-two/target/pom.xml", plugin("com.example.group.two", "example-artifact-two", "0.0.1", "goal-one"));
+        Files.createDirectories(tree.resolve("module-three"));
+        Files.write(tree.resolve("module-three/pom.xml"), "<project><build>".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        final PomTreeScanner.Summary summary = scanner.scan(tree);
+
+        // then
+        assertThat(summary.getPoms()).isEqualTo(4);
+        assertThat(summary.getReadyPoms()).isEqualTo(1);
+        assertThat(summary.getErrors()).containsOnlyKeys(tree.resolve("module-three/pom.xml"));
+        assertThat(summary.getNonThreadSafeGoals()).containsOnly(entry("com.example.group.one:example-artifact-one:0.0.1", new TreeSet<>(Arrays.asList("goal-three", "goal-two"))));
+        assertThat(summary.getNonThreadSafePoms()).containsOnly(entry("com.example.group.one:example-artifact-one:0.0.1", 2));
+        assertThat(summary.getUnknownPoms()).containsOnly(entry("com.example.group.two:example-artifact-two:0.0.1", 1));
+        assertThat(summary.getReferences()).isEqualTo(4);
+        assertThat(summary.getDistinctPlugins()).isEqualTo(2);
+        assertThat(summary.format()).contains("Not thread safe: \"com.example.group.one:example-artifact-one:0.0.1\" goals [goal-three, goal-two] in 2 POMs.");
+    }
+
+    @Test
+    public void scanResolvesVersionsFromParents() throws Exception {
+        // given
+        writeFile("pom.xml", "<project>\n"
+                + "  <modelVersion>4.0.0</modelVersion>\n"
+                + "  <groupId>com.example</groupId>\n"
+                + "  <artifactId>parent</artifactId>\n"
+                + "  <version>0.0.1</version>\n"
+                + "  <properties><example.version>0.0.1</example.version></properties>\n"
+                + "  <build><pluginManagement><plugins>\n"
+                + "    <plugin><groupId>com.example.group.one</groupId><artifactId>example-artifact-one</artifactId><version>${example.version}</version></plugin>\n"
+                + "  </plugins></pluginManagement></build>\n"
+                + "</project>\n");
+        writeFile("module-one/pom.xml", "<project>\n"
+                + "  <modelVersion>4.0.0</modelVersion>\n"
+                + "  <parent><groupId>com.example</groupId><artifactId>parent</artifactId><version>0.0.1</version></parent>\n"
+                + "  <artifactId>module-one</artifactId>\n"
+                + "  <build><plugins>\n"
+                + plugin("com.example.group.one", "example-artifact-one", null, "goal-two")
+                + "  </plugins></build>\n"
+                + "</project>\n");
+
+        // when
+        final PomTreeScanner.Summary summary = scanner.scan(tree);
+
+        // then
+        assertThat(summary.getPoms()).isEqualTo(2);
+        assertThat(summary.getUnknownPoms()).isEmpty();
+        assertThat(summary.getNonThreadSafePoms()).containsOnly(entry("com.example.group.one:example-artifact-one:0.0.1", 1));
+    }
+
+    @Test
+    public void scanReportsUnreadablePluginJars() throws Exception {
+        // given
+        final Path jar = temporaryFolder.getRoot().toPath().resolve("repository/com/example/group/two/example-artifact-two/0.0.1/example-artifact-two-0.0.1.jar");
+        Files.createDirectories(jar.getParent());
+        Files.write(jar, "not a jar".getBytes(StandardCharsets.UTF_8));
+        writePom("module-one/pom.xml", plugin("com.example.group.two", "example-artifact-two", "0.0.1", "goal-one"));
+
+        // when
+        final PomTreeScanner.Summary summary = scanner.scan(tree);
+
+        // then
+        assertThat(summary.getUnknownPoms()).isEmpty();
+        assertThat(summary.getErrors()).containsOnlyKeys(tree.resolve("module-one/pom.xml"));
+    }
+
+    @Test
+    public void interpolate() {
+        // given
+        final Model model = new Model();
+        model.setVersion("1.0.0");
+        model.addProperty("example.version", "${base.version}.1");
+        model.addProperty("base.version", "2.0");
+
+        // then
+        assertThat(PomTreeScanner.interpolate("0.0.1", model)).isEqualTo("0.0.1");
+        assertThat(PomTreeScanner.interpolate("${example.version}", model)).isEqualTo("2.0.1");
+        assertThat(PomTreeScanner.interpolate("${project.version}", model)).isEqualTo("1.0.0");
+        assertThat(PomTreeScanner.interpolate("${parent.plugin.version}", model)).isEqualTo("${parent.plugin.version}");
+    }
+
+    @Test
+    public void parseThreads() {
+        // then
+        assertThat(PomTreeScanner.parseThreads("8")).isEqualTo(8);
+        assertThat(PomTreeScanner.parseThreads(" 2 ")).isEqualTo(2);
+        assertThat(PomTreeScanner.parseThreads("-1")).isEqualTo(-1);
+        assertThat(PomTreeScanner.parseThreads("many")).isEqualTo(0);
+        assertThat(PomTreeScanner.parseThreads("")).isEqualTo(0);
+    }
+
+    private void writeFile(String path, String content) throws Exception {
+        final Path file = tree.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writePom(String path, String plugins) throws Exception {
+        final Path pom = tree.resolve(path);
+        Files.createDirectories(pom.getParent());
+        final String content = "<project>\n"
+                + "  <modelVersion>4.0.0</modelVersion>\n"
+                + "  <groupId>com.example</groupId>\n"
+                + "  <artifactId>" + pom.getParent().getFileName() + "</artifactId>\n"
+                + "  <version>0.0.1</version>\n"
+                + "  <properties><example.version>0.0.1</example.version></properties>\n"
+                + "  <build><plugins>\n" + plugins + "  </plugins></build>\n"
+                + "</project>\n";
+        Files.write(pom, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String plugin(String groupId, String artifactId, String version, String... goals) {
+        final StringBuilder plugin = new StringBuilder();
+        plugin.append("    <plugin><groupId>").append(groupId).append("</groupId><artifactId>").append(artifactId)
+                .append("</artifactId>").append(version != null ? "<version>" + version + "</version>" : "").append("<executions>");
+        for (String goal : goals) {
+            plugin.append("<execution><id>").append(goal).append("-").append(plugin.length()).append("</id><goals><goal>").append(goal).append("</goal></goals></execution>");
+        }
+        return plugin.append("</executions></plugin>\n").toString();
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.eniuv.maven.enforcer.custom.rules.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.maven.model.Plugin;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+
+public class VerdictStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void putAndLoad() throws Exception {
+        // given
+        final Path file = temporaryFolder.getRoot().toPath().resolve("store").resolve(VerdictStore.FILE_NAME);
+        final VerdictStore store = VerdictStore.load(file);
+
+        final Map<String, Boolean> threadSafeGoals = new LinkedHashMap<>();
+        threadSafeGoals.put("goal-one", true);
+        threadSafeGoals.put("goal-two", false);
+
+        // when
+        store.put(PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1"), threadSafeGoals);
+        final VerdictStore loadedStore = VerdictStore.load(file);
+
+        // then
+        assertThat(loadedStore.get("com.example.group.one:example-artifact-one:0.0.1")).isEqualTo(threadSafeGoals);
+        assertThat(loadedStore.get("com.example.group.one:example-artifact-one:0.0.2")).isNull();
+    }
+
+    @Test
+    public void putDoesNotStoreSnapshots() {
+        // given
+        final Path file = temporaryFolder.getRoot().toPath().resolve(VerdictStore.FILE_NAME);
+        final VerdictStore store = VerdictStore.load(file);
+
+        // when
+        store.put(PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1-SNAPSHOT"), Collections.singletonMap("goal-one", true));
+
+        // then
+        assertThat(store.get("com.example.group.one:example-artifact-one:0.0.1-SNAPSHOT")).isNull();
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    public void loadIgnoresUnterminatedLine() throws Exception {
+        // given
+        final Path file = temporaryFolder.getRoot().toPath().resolve(VerdictStore.FILE_NAME);
+        Files.write(file, "g:a:1 1 goal-one=false\ng:a:2 2 goal-one=true goal-two=fa".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        final VerdictStore store = VerdictStore.load(file);
+
+        // then
+        assertThat(store.get("g:a:1")).containsOnlyKeys("goal-one");
+        assertThat(store.get("g:a:2")).isNull();
+    }
+
+    @Test
+    public void loadIgnoresIncompleteLine() throws Exception {
+        // given
+        final Path file = temporaryFolder.getRoot().toPath().resolve(VerdictStore.FILE_NAME);
+        Files.write(file, "g:a:1 2 goal-one=false\ng:a:2 1 goal-one=maybe\n".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        final VerdictStore store = VerdictStore.load(file);
+
+        // then
+        assertThat(store.get("g:a:1")).isNull();
+        assertThat(store.get("g:a:2")).isNull();
+    }
+
+    @Test
+    public void putTerminatesUnterminatedLine() throws Exception {
+        // given
+        final Path file = temporaryFolder.getRoot().toPath().resolve(VerdictStore.FILE_NAME);
+        Files.write(file, "g:a:1 2 goal-one=true".getBytes(StandardCharsets.UTF_8));
+        final VerdictStore store = VerdictStore.load(file);
+
+        // when
+        store.put(PluginCreator.create("g", "a", "2"), Collections.singletonMap("goal-one", false));
+        final VerdictStore loadedStore = VerdictStore.load(file);
+
+        // then
+        assertThat(loadedStore.get("g:a:1")).isNull();
+        assertThat(loadedStore.get("g:a:2")).containsEntry("goal-one", false);
+    }
+
+    @Test
+    public void putWritesOnlyChangedVerdicts() throws Exception {
+        // given
+        final Path file = temporaryFolder.getRoot().toPath().resolve(VerdictStore.FILE_NAME);
+        final VerdictStore store = VerdictStore.load(file);
+        final Plugin plugin = PluginCreator.create("g", "a", "1");
+
+        final Map<String, Boolean> threadSafeGoals = new LinkedHashMap<>();
+        threadSafeGoals.put("goal-one", true);
+        threadSafeGoals.put("goal-two", false);
+
+        // when
+        store.put(plugin, Collections.singletonMap("goal-one", true));
+        store.put(plugin, Collections.singletonMap("goal-one", true));
+        VerdictStore.load(file).put(plugin, Collections.singletonMap("goal-one", true));
+        store.put(plugin, threadSafeGoals);
+
+        // then
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8)).containsExactly(
+                "g:a:1 1 goal-one=true",
+                "g:a:1 2 goal-one=true goal-two=false");
+        assertThat(VerdictStore.load(file).get("g:a:1")).isEqualTo(threadSafeGoals);
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.eniuv.maven.enforcer.custom.rules.reactor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.maven.execution.ProjectDependencyGraph;
+import org.apache.maven.project.MavenProject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReactorParallelismTest {
+
+    @Mock
+    private ProjectDependencyGraph graph;
+
+    private final MavenProject parent = createProject("parent");
+    private final MavenProject api = createProject("api");
+    private final MavenProject core = createProject("core");
+    private final MavenProject web = createProject("web");
+    private final MavenProject cli = createProject("cli");
+    private final MavenProject distribution = createProject("distribution");
+
+    private List<MavenProject> projects;
+
+    @Before
+    public void before() {
+        // parent <- api, core <- web, cli <- distribution
+        projects = Arrays.asList(parent, api, core, web, cli, distribution);
+        when(graph.getUpstreamProjects(parent, false)).thenReturn(Collections.emptyList());
+        when(graph.getUpstreamProjects(api, false)).thenReturn(Collections.singletonList(parent));
+        when(graph.getUpstreamProjects(core, false)).thenReturn(Collections.singletonList(parent));
+        when(graph.getUpstreamProjects(web, false)).thenReturn(Arrays.asList(api, core));
+        when(graph.getUpstreamProjects(cli, false)).thenReturn(Arrays.asList(api, core));
+        when(graph.getUpstreamProjects(distribution, false)).thenReturn(Arrays.asList(web, cli));
+    }
+
+    @Test
+    public void analyze() {
+        // when
+        final ReactorParallelism parallelism = ReactorParallelism.analyze(projects, graph, Collections.emptySet());
+
+        // then
+        assertThat(parallelism.getModules()).isEqualTo(6);
+        assertThat(parallelism.getCriticalPath()).isEqualTo(4);
+        assertThat(parallelism.getMaximumWidth()).isEqualTo(2);
+        assertThat(parallelism.getNonThreadSafeModules()).isEqualTo(0);
+        assertThat(parallelism.getBuildLength()).isEqualTo(4);
+        assertThat(parallelism.getRecommendedThreads()).isEqualTo(2);
+        assertThat(parallelism.getSpeedup()).isEqualTo(1.5);
+    }
+
+    @Test
+    public void analyzeNonThreadSafeModules() {
+        // when
+        final ReactorParallelism parallelism = ReactorParallelism.analyze(projects, graph, new HashSet<>(Arrays.asList(web.getId(), cli.getId())));
+
+        // then
+        assertThat(parallelism.getNonThreadSafeModules()).isEqualTo(2);
+        assertThat(parallelism.getBuildLength()).isEqualTo(5);
+        assertThat(parallelism.getRecommendedThreads()).isEqualTo(2);
+        assertThat(parallelism.getSpeedup()).isEqualTo(1.2);
+    }
+
+    @Test
+    public void analyzeWithoutGraph() {
+        // when
+        final ReactorParallelism parallelism = ReactorParallelism.analyze(Arrays.asList(api, core, web), null, Collections.singleton(web.getId()));
+
+        // then
+        assertThat(parallelism.getCriticalPath()).isEqualTo(1);
+        assertThat(parallelism.getMaximumWidth()).isEqualTo(3);
+        assertThat(parallelism.getBuildLength()).isEqualTo(1);
+        assertThat(parallelism.getRecommendedThreads()).isEqualTo(3);
+        assertThat(parallelism.getSpeedup()).isEqualTo(3.0);
+    }
+
+    private static MavenProject createProject(String artifactId) {
+        final MavenProject project = new MavenProject();
+        project.setGroupId("com.example");
+        project.setArtifactId(artifactId);
+        project.setVersion("0.0.1");
+        return project;
+    }
+}
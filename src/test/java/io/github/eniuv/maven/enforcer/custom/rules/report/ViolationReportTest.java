@@ -0,0 +1,89 @@
+package io.github.eniuv.maven.enforcer.custom.rules.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.apache.maven.model.Plugin;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.eniuv.maven.enforcer.custom.rules.creator.PluginCreator;
+
+public class ViolationReportTest {
+
+    private final Plugin excludedPlugin = PluginCreator.create("com.example.group.one", "example-artifact-one", "0.0.1");
+    private final Plugin excludeEntry = PluginCreator.create("com.example.group.one", null, null);
+    private final Plugin plugin = PluginCreator.create("com.example.group.two", "example-artifact-two", "0.0.2");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void json() throws Exception {
+        // given
+        final Path file = temporaryFolder.getRoot().toPath().resolve("target/report.json");
+
+        // when
+        try (ViolationReport report = ViolationReport.open(ReportFormat.JSON, file, "com.example:module:jar:0.0.1", "module/pom.xml", true)) {
+            report.exclusion(excludedPlugin, Collections.singletonList(excludeEntry));
+            report.violation(plugin, "goal-one");
+            report.violation(plugin, "goal-\"two\"");
+        }
+
+        // then
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).isEqualTo("{"
+                + "\"module\":\"com.example:module:jar:0.0.1\","
+                + "\"exclusions\":[{\"plugin\":\"com.example.group.one:example-artifact-one:0.0.1\",\"matchedBy\":[\"com.example.group.one\"]}],"
+                + "\"violations\":["
+                + "{\"plugin\":\"com.example.group.two:example-artifact-two:0.0.2\",\"goal\":\"goal-one\"},"
+                + "{\"plugin\":\"com.example.group.two:example-artifact-two:0.0.2\",\"goal\":\"goal-\\\"two\\\"\"}"
+                + "]}");
+    }
+
+    @Test
+    public void jsonEmpty() throws Exception {
+        // given
+        final Path file = temporaryFolder.getRoot().toPath().resolve("report.json");
+
+        // when
+        ViolationReport.open(ReportFormat.JSON, file, "module", "module/pom.xml", true).close();
+
+        // then
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+                .isEqualTo("{\"module\":\"module\",\"exclusions\":[],\"violations\":[]}");
+    }
+
+    @Test
+    public void sarif() throws Exception {
+        // given
+        final Path file = temporaryFolder.getRoot().toPath().resolve("report.sarif");
+
+        // when
+        try (ViolationReport report = ViolationReport.open(ReportFormat.SARIF, file, "module", "module/pom.xml", false)) {
+            report.exclusion(excludedPlugin, Collections.singletonList(excludeEntry));
+            report.violation(plugin, "goal-one");
+        }
+
+        // then
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+                .startsWith("{\"$schema\":\"https://json.schemastore.org/sarif-2.1.0.json\",\"version\":\"2.1.0\",\"runs\":[{\"tool\":")
+                .contains("\"properties\":{\"module\":\"module\",\"exclusions\":[{\"plugin\":\"com.example.group.one:example-artifact-one:0.0.1\",\"matchedBy\":[\"com.example.group.one\"]}]}")
+                .contains("\"results\":[{\"ruleId\":\"non-thread-safe-goal\",\"level\":\"warning\","
+                        + "\"message\":{\"text\":\"The Goal: \\\"goal-one\\\" of Plugin: \\\"com.example.group.two:example-artifact-two:0.0.2\\\" is not thread safe.\"}")
+                .contains("\"artifactLocation\":{\"uri\":\"module/pom.xml\",\"uriBaseId\":\"%SRCROOT%\"}")
+                .endsWith("}]}]}");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void exclusionAfterViolation() throws Exception {
+        try (ViolationReport report = ViolationReport.open(ReportFormat.JSON, temporaryFolder.getRoot().toPath().resolve("report.json"), "module", "module/pom.xml", true)) {
+            report.violation(plugin, "goal-one");
+            report.exclusion(excludedPlugin, Collections.singletonList(excludeEntry));
+        }
+    }
+}